@@ -0,0 +1,53 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/*
+    Fornece um analisador reaproveitável por thread, para processamento em lote e servidores.
+    Evita criar um PythonLexicalAnalyzer (e seus buffers) novo para cada arquivo pequeno.
+    Depois de usar o analisador de acquire(), chame release() para que ele não mantenha o último código vivo.
+ */
+public class AnalyzerPool {
+
+    private static final ThreadLocal<PythonLexicalAnalyzer> ANALYZERS =
+            ThreadLocal.withInitial(() -> new PythonLexicalAnalyzer(""));
+
+    private AnalyzerPool() {
+    }
+
+    // Retorna o analisador da thread atual já preparado para o código informado
+    public static PythonLexicalAnalyzer acquire(CharSequence code) {
+        PythonLexicalAnalyzer analyzer = ANALYZERS.get();
+        analyzer.reset(code);
+        return analyzer;
+    }
+
+    // Retorna o analisador da thread atual já preparado para o arquivo informado
+    public static PythonLexicalAnalyzer acquire(File file) throws IOException {
+        PythonLexicalAnalyzer analyzer = ANALYZERS.get();
+        analyzer.reset(file);
+        return analyzer;
+    }
+
+    // Esvazia o analisador da thread atual, soltando o código, a tabela de linhas e os índices da última análise
+    public static void release() {
+        ANALYZERS.get().reset("");
+    }
+
+    public static List<Token> tokenize(CharSequence code) {
+        try {
+            return acquire(code).tokenize();
+        } finally {
+            release();
+        }
+    }
+
+    public static List<Token> tokenize(Path file) throws IOException {
+        try {
+            return acquire(file.toFile()).tokenize();
+        } finally {
+            release();
+        }
+    }
+}
@@ -0,0 +1,315 @@
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/*
+    Analisa os arquivos de um .zip ou .tar.gz diretamente do arquivo compactado, sem extraí-lo.
+    Uma thread descompacta e decodifica as entradas enquanto outras threads fazem a análise léxica;
+    a fila entre elas é limitada, para que a descompactação não ocupe memória sem limite.
+    Se uma thread de análise falhar (inclusive no reporter), a leitura para e process() relança a falha.
+ */
+public class ArchiveLexer {
+
+    public record EntryResult(String name, int length, int tokenCount, String error, long nanos) {
+    }
+
+    public record Summary(long entries, long failed, long tokens, long elapsedNanos) {
+    }
+
+    // Entradas que não podem ser lidas (por exemplo, grandes demais) chegam com o erro e sem conteúdo
+    private record Entry(String name, String content, String error) {
+
+        Entry(String name, String content) {
+            this(name, content, null);
+        }
+    }
+
+    private static final Entry END = new Entry(null, null, null);
+
+    // Maior entrada que cabe em um array de bytes
+    static final long MAX_ENTRY_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final long OFFER_TIMEOUT_MILLIS = 50;
+
+    private final int threads;
+    private final Predicate<String> filter;
+    private final long maxEntrySize;
+
+    public ArchiveLexer(int threads, Predicate<String> filter) {
+        this(threads, filter, MAX_ENTRY_SIZE);
+    }
+
+    // Permite reduzir o tamanho máximo de entrada, para testar entradas grandes demais
+    ArchiveLexer(int threads, Predicate<String> filter, long maxEntrySize) {
+        this.threads = Math.max(1, threads);
+        this.filter = filter;
+        this.maxEntrySize = Math.min(maxEntrySize, MAX_ENTRY_SIZE);
+    }
+
+    // Analisa apenas entradas .py
+    public ArchiveLexer(int threads) {
+        this(threads, name -> name.endsWith(".py"));
+    }
+
+    // Processa o arquivo compactado, avisando o resultado de cada entrada assim que ela é analisada
+    public Summary process(Path archive, Consumer<EntryResult> reporter) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(threads * 4);
+        AtomicLong entries = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicLong tokens = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    Entry entry;
+                    while ((entry = queue.take()) != END) {
+                        EntryResult result = analyze(entry);
+                        entries.incrementAndGet();
+                        tokens.addAndGet(result.tokenCount());
+                        if (result.error() != null) {
+                            failed.incrementAndGet();
+                        }
+                        synchronized (reporter) {
+                            reporter.accept(result);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "archive-lexer-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+
+        Feed feed = new Feed(queue, failure);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(archive))) {
+            String name = archive.getFileName().toString();
+            if (name.endsWith(".zip")) {
+                readZip(in, feed);
+            } else if (name.endsWith(".tar.gz") || name.endsWith(".tgz")) {
+                readTar(new GZIPInputStream(in, 64 * 1024), feed);
+            } else {
+                throw new IllegalArgumentException("Formato de arquivo não suportado: " + name);
+            }
+        } catch (WorkerFailed e) {
+            // a falha da thread de análise é relançada abaixo, depois de encerrar as demais
+        } finally {
+            feed.finish(threads);
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        }
+
+        Throwable error = failure.get();
+        if (error instanceof RuntimeException runtime) {
+            throw runtime;
+        } else if (error instanceof Error fatal) {
+            throw fatal;
+        } else if (error != null) {
+            throw new RuntimeException("Erro ao analisar o arquivo compactado", error);
+        }
+
+        return new Summary(entries.get(), failed.get(), tokens.get(), System.nanoTime() - start);
+    }
+
+    // Fila entre a leitura e as threads de análise, que deixa de esperar assim que uma delas falha
+    private static final class Feed {
+        private final BlockingQueue<Entry> queue;
+        private final AtomicReference<Throwable> failure;
+
+        Feed(BlockingQueue<Entry> queue, AtomicReference<Throwable> failure) {
+            this.queue = queue;
+            this.failure = failure;
+        }
+
+        void put(Entry entry) throws InterruptedException {
+            while (!queue.offer(entry, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (failure.get() != null) {
+                    throw new WorkerFailed();
+                }
+            }
+            if (failure.get() != null) {
+                throw new WorkerFailed();
+            }
+        }
+
+        // Envia o sinal de fim para cada thread; com falha, descarta as entradas que ainda não foram analisadas
+        void finish(int threads) throws InterruptedException {
+            int sent = 0;
+            while (sent < threads) {
+                if (failure.get() != null) {
+                    // Só esta thread coloca itens na fila, então depois de limpá-la há espaço para todos os sinais
+                    queue.clear();
+                    for (int i = 0; i < threads; i++) {
+                        queue.put(END);
+                    }
+                    return;
+                }
+                if (queue.offer(END, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    sent++;
+                }
+            }
+        }
+    }
+
+    // Interrompe a leitura do arquivo compactado quando uma thread de análise falhou
+    private static final class WorkerFailed extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        WorkerFailed() {
+            super(null, null, false, false);
+        }
+    }
+
+    private EntryResult analyze(Entry entry) {
+        long start = System.nanoTime();
+        if (entry.error() != null) {
+            return new EntryResult(entry.name(), 0, 0, entry.error(), System.nanoTime() - start);
+        }
+        try {
+            PythonLexicalAnalyzer.checkIndentation(entry.content());
+            int count = AnalyzerPool.tokenize(entry.content()).size();
+            return new EntryResult(entry.name(), entry.content().length(), count, null, System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            return new EntryResult(entry.name(), entry.content().length(), 0, e.getMessage(),
+                    System.nanoTime() - start);
+        }
+    }
+
+    private void readZip(InputStream in, Feed feed) throws IOException, InterruptedException {
+        ZipInputStream zip = new ZipInputStream(in, StandardCharsets.UTF_8);
+        ZipEntry zipEntry;
+        while ((zipEntry = zip.getNextEntry()) != null) {
+            if (!zipEntry.isDirectory() && filter.test(zipEntry.getName())) {
+                // O tamanho pode ser desconhecido (-1) até o fim da entrada, então a leitura também é limitada
+                byte[] content = zipEntry.getSize() > maxEntrySize ? null : zip.readNBytes((int) maxEntrySize + 1);
+                if (content == null || content.length > maxEntrySize) {
+                    feed.put(tooLarge(zipEntry.getName()));
+                } else {
+                    feed.put(new Entry(zipEntry.getName(), new String(content, StandardCharsets.UTF_8)));
+                }
+            }
+        }
+    }
+
+    private Entry tooLarge(String name) {
+        return new Entry(name, null, "Erro: entrada maior que o limite de " + maxEntrySize + " bytes");
+    }
+
+    // Leitor mínimo de tar (ustar, com nomes longos do GNU e do formato pax)
+    private void readTar(InputStream in, Feed feed) throws IOException, InterruptedException {
+        byte[] header = new byte[512];
+        String longName = null;
+
+        while (true) {
+            if (in.readNBytes(header, 0, 512) < 512) {
+                throw new EOFException("Erro: arquivo tar truncado");
+            }
+            if (isZeroBlock(header)) {
+                return;
+            }
+
+            long size = parseSize(header);
+            char type = (char) header[156];
+            String name = longName != null ? longName : headerName(header);
+            longName = null;
+
+            if (type == 'L') {
+                longName = trimNul(new String(in.readNBytes((int) size), StandardCharsets.UTF_8));
+            } else if (type == 'x') {
+                longName = paxPath(new String(in.readNBytes((int) size), StandardCharsets.UTF_8));
+            } else if ((type == '0' || type == '\0') && filter.test(name)) {
+                if (size > maxEntrySize) {
+                    in.skipNBytes(size);
+                    feed.put(tooLarge(name));
+                } else {
+                    byte[] content = in.readNBytes((int) size);
+                    feed.put(new Entry(name, new String(content, StandardCharsets.UTF_8)));
+                }
+            } else {
+                in.skipNBytes(size);
+            }
+
+            long padding = (512 - size % 512) % 512;
+            in.skipNBytes(padding);
+        }
+    }
+
+    private static boolean isZeroBlock(byte[] header) {
+        for (byte b : header) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String headerName(byte[] header) {
+        String name = field(header, 0, 100);
+        if (field(header, 257, 5).equals("ustar")) {
+            String prefix = field(header, 345, 155);
+            if (!prefix.isEmpty()) {
+                return prefix + "/" + name;
+            }
+        }
+        return name;
+    }
+
+    // Tamanho em octal, ou em base 256 quando o primeiro byte tem o bit mais alto ligado
+    private static long parseSize(byte[] header) {
+        if ((header[124] & 0x80) != 0) {
+            long size = 0;
+            for (int i = 125; i < 136; i++) {
+                size = (size << 8) | (header[i] & 0xFF);
+            }
+            return size;
+        }
+        String octal = field(header, 124, 12).trim();
+        return octal.isEmpty() ? 0 : Long.parseLong(octal, 8);
+    }
+
+    private static String field(byte[] header, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && header[end] != 0) {
+            end++;
+        }
+        return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static String trimNul(String value) {
+        int end = value.indexOf('\0');
+        return end >= 0 ? value.substring(0, end) : value;
+    }
+
+    // Registros pax têm o formato "<tamanho> <chave>=<valor>\n"
+    private static String paxPath(String records) {
+        for (String record : records.split("\n")) {
+            int space = record.indexOf(' ');
+            if (space >= 0 && record.startsWith("path=", space + 1)) {
+                return record.substring(space + 1 + "path=".length());
+            }
+        }
+        return null;
+    }
+}
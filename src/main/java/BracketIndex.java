@@ -0,0 +1,120 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/*
+    Índice de pares de parênteses, colchetes e chaves, montado durante a análise.
+    Para cada token de abertura guarda a posição (na lista de tokens) do fechamento
+    correspondente, e vice-versa; os demais tokens ficam com -1.
+ */
+public class BracketIndex {
+
+    private final Supplier<LineIndex> lines;
+    private final List<Diagnostic> diagnostics = new ArrayList<>();
+
+    private int[] matches = new int[64];
+    private int size;
+
+    private int[] stack = new int[16];
+    private char[] stackChars = new char[16];
+    private int[] stackOffsets = new int[16];
+    private int depth;
+
+    public BracketIndex(Supplier<LineIndex> lines) {
+        this.lines = lines;
+        Arrays.fill(matches, -1);
+    }
+
+    // Prepara o índice para uma nova análise
+    public void reset() {
+        Arrays.fill(matches, 0, size, -1);
+        size = 0;
+        depth = 0;
+        diagnostics.clear();
+    }
+
+    // Registra um token de abertura
+    void open(int tokenIndex, char bracket, int offset) {
+        ensureSize(tokenIndex + 1);
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+            stackChars = Arrays.copyOf(stackChars, depth * 2);
+            stackOffsets = Arrays.copyOf(stackOffsets, depth * 2);
+        }
+        stack[depth] = tokenIndex;
+        stackChars[depth] = bracket;
+        stackOffsets[depth] = offset;
+        depth++;
+    }
+
+    // Registra um token de fechamento e o liga à abertura correspondente
+    void close(int tokenIndex, char bracket, int offset) {
+        ensureSize(tokenIndex + 1);
+        char expected = opening(bracket);
+
+        int found = depth - 1;
+        while (found >= 0 && stackChars[found] != expected) {
+            found--;
+        }
+        if (found < 0) {
+            diagnostics.add(Diagnostic.at(lines.get(), offset, "Erro: '" + bracket + "' sem abertura correspondente"));
+            return;
+        }
+
+        while (depth - 1 > found) {
+            depth--;
+            reportUnclosed(depth);
+        }
+        depth--;
+        matches[stack[depth]] = tokenIndex;
+        matches[tokenIndex] = stack[depth];
+    }
+
+    // Finaliza a análise, avisando as aberturas que ficaram sem fechamento
+    void finish(int tokenCount) {
+        ensureSize(tokenCount);
+        while (depth > 0) {
+            depth--;
+            reportUnclosed(depth);
+        }
+        diagnostics.sort((a, b) -> Integer.compare(a.offset(), b.offset()));
+    }
+
+    // Posição do token que fecha (ou abre) o token informado, ou -1
+    public int match(int tokenIndex) {
+        return tokenIndex < size ? matches[tokenIndex] : -1;
+    }
+
+    // Cópia compacta do índice, com uma posição para cada token
+    public int[] toArray() {
+        return Arrays.copyOf(matches, size);
+    }
+
+    public List<Diagnostic> getDiagnostics() {
+        return Collections.unmodifiableList(diagnostics);
+    }
+
+    private void reportUnclosed(int level) {
+        diagnostics.add(Diagnostic.at(lines.get(), stackOffsets[level],
+                "Erro: '" + stackChars[level] + "' sem fechamento correspondente"));
+    }
+
+    private void ensureSize(int required) {
+        if (required > matches.length) {
+            int previous = matches.length;
+            matches = Arrays.copyOf(matches, Math.max(required, previous * 2));
+            Arrays.fill(matches, previous, matches.length, -1);
+        }
+        size = Math.max(size, required);
+    }
+
+    private static char opening(char closing) {
+        return switch (closing) {
+            case ')' -> '(';
+            case ']' -> '[';
+            default -> '{';
+        };
+    }
+}
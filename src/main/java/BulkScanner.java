@@ -0,0 +1,72 @@
+/*
+    Varredura em bloco das sequências mais comuns do código: espaços em branco, o restante de
+    uma linha de comentário e identificadores. Cada método recebe a posição inicial e o limite
+    (exclusivo) e retorna a posição do primeiro caractere que não pertence à sequência.
+
+    Esta é a implementação escalar. Com a propriedade de sistema lexer.vector=true e o módulo
+    jdk.incubator.vector disponível (--add-modules jdk.incubator.vector), create() devolve um
+    VectorBulkScanner, que procura o fim dos comentários comparando vários caracteres por instrução;
+    sem isso, usa esta classe.
+ */
+public class BulkScanner {
+
+    public static final String VECTOR_PROPERTY = "lexer.vector";
+
+    private static final boolean VECTOR_AVAILABLE = Boolean.getBoolean(VECTOR_PROPERTY)
+            && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    // Cria o scanner conforme a configuração; cada Expression tem o seu, pois o vetorial tem um buffer próprio
+    public static BulkScanner create() {
+        if (VECTOR_AVAILABLE) {
+            try {
+                return (BulkScanner) Class.forName("VectorBulkScanner").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return new BulkScanner();
+            }
+        }
+        return new BulkScanner();
+    }
+
+    public static boolean isVectorAvailable() {
+        return VECTOR_AVAILABLE;
+    }
+
+    // Espaços, tabulações e quebras de linha
+    public int skipWhitespace(String source, int from, int limit) {
+        int i = from;
+        while (i < limit && isWhitespace(source.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // Tudo até o fim da linha (\n ou \r)
+    public int skipToLineEnd(String source, int from, int limit) {
+        int i = from;
+        while (i < limit && !isLineEnd(source.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // Letras, dígitos (inclusive Unicode) e '_'
+    public int skipIdentifier(String source, int from, int limit) {
+        int i = from;
+        while (i < limit && isIdentifierPart(source.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+    }
+
+    static boolean isLineEnd(char c) {
+        return c == '\n' || c == '\r';
+    }
+
+    static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
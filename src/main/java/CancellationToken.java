@@ -0,0 +1,21 @@
+/*
+    Sinal de cancelamento compartilhado entre quem pediu a análise e a thread que a executa.
+    A leitura é um campo volatile, barata o bastante para ser consultada a cada token.
+ */
+public class CancellationToken {
+
+    public static final CancellationToken NONE = new CancellationToken();
+
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        if (this == NONE) {
+            throw new UnsupportedOperationException("CancellationToken.NONE não pode ser cancelado");
+        }
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,157 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/*
+    Índice esparso de pontos de retomada da análise léxica.
+
+    Um checkpoint é gravado no início de uma linha a cada intervalo de linhas ou de bytes,
+    desde que nenhum token (como uma string multilinha) atravesse o início dessa linha.
+    Assim o analisador pode recomeçar dali sem precisar de nenhum estado além da posição;
+    a indentação da linha é guardada para quem precisar reconstruir blocos.
+ */
+public class CheckpointIndex {
+
+    private static final int MAGIC = 0x50594350;
+    private static final int VERSION = 1;
+
+    public record Checkpoint(int line, int charOffset, long byteOffset, int indent) {
+    }
+
+    private final int lineInterval;
+    private final long byteInterval;
+    private final List<Checkpoint> checkpoints = new ArrayList<>();
+    private long sourceBytes;
+
+    private int scannedChars;
+    private long scannedBytes;
+    private int lastTokenLine;
+
+    public CheckpointIndex(int lineInterval, long byteInterval) {
+        if (lineInterval <= 0 || byteInterval <= 0) {
+            throw new IllegalArgumentException("Intervalos de checkpoint devem ser positivos");
+        }
+        this.lineInterval = lineInterval;
+        this.byteInterval = byteInterval;
+        this.checkpoints.add(new Checkpoint(1, 0, 0, 0));
+    }
+
+    // Caminho padrão do índice, gravado ao lado do arquivo de código
+    public static Path sidecar(Path source) {
+        return source.resolveSibling(source.getFileName() + ".ckpt");
+    }
+
+    // Chamado pelo analisador para cada token; grava um checkpoint quando o intervalo foi atingido
+    void onToken(CharSequence source, int lineStart, int line, int tokenOffset, int previousTokenEnd) {
+        if (line == lastTokenLine) {
+            return;
+        }
+        lastTokenLine = line;
+
+        Checkpoint last = checkpoints.get(checkpoints.size() - 1);
+        if (previousTokenEnd > lineStart) {
+            return;
+        }
+
+        long byteOffset = advanceBytes(source, lineStart);
+        if (line - last.line() >= lineInterval || byteOffset - last.byteOffset() >= byteInterval) {
+            checkpoints.add(new Checkpoint(line, lineStart, byteOffset, tokenOffset - lineStart));
+        }
+    }
+
+    // Registra o tamanho total do código em bytes ao fim da análise
+    void finish(CharSequence source, int end) {
+        sourceBytes = advanceBytes(source, end);
+    }
+
+    // Checkpoint mais próximo que começa antes ou na linha pedida
+    public Checkpoint floor(int line) {
+        int low = 0;
+        int high = checkpoints.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (checkpoints.get(mid).line() <= line) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return checkpoints.get(low);
+    }
+
+    // Posição em bytes até onde é preciso ler para cobrir a linha pedida
+    public long windowEnd(int line) {
+        for (Checkpoint checkpoint : checkpoints) {
+            if (checkpoint.line() > line) {
+                return checkpoint.byteOffset();
+            }
+        }
+        return sourceBytes;
+    }
+
+    public List<Checkpoint> getCheckpoints() {
+        return Collections.unmodifiableList(checkpoints);
+    }
+
+    public long getSourceBytes() {
+        return sourceBytes;
+    }
+
+    public void save(Path target) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(lineInterval);
+            out.writeLong(byteInterval);
+            out.writeLong(sourceBytes);
+            out.writeInt(checkpoints.size());
+            for (Checkpoint checkpoint : checkpoints) {
+                out.writeInt(checkpoint.line());
+                out.writeInt(checkpoint.charOffset());
+                out.writeLong(checkpoint.byteOffset());
+                out.writeInt(checkpoint.indent());
+            }
+        }
+    }
+
+    public static CheckpointIndex load(Path source) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new RuntimeException("Erro: arquivo de checkpoints inválido");
+            }
+            CheckpointIndex index = new CheckpointIndex(in.readInt(), in.readLong());
+            index.sourceBytes = in.readLong();
+            index.checkpoints.clear();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                index.checkpoints.add(new Checkpoint(in.readInt(), in.readInt(), in.readLong(), in.readInt()));
+            }
+            return index;
+        }
+    }
+
+    // Soma o tamanho em UTF-8 dos caracteres lidos desde a última chamada
+    private long advanceBytes(CharSequence source, int offset) {
+        for (int i = scannedChars; i < offset; i++) {
+            char c = source.charAt(i);
+            if (c < 0x80) {
+                scannedBytes += 1;
+            } else if (c < 0x800) {
+                scannedBytes += 2;
+            } else if (Character.isSurrogate(c)) {
+                scannedBytes += 2;
+            } else {
+                scannedBytes += 3;
+            }
+        }
+        scannedChars = Math.max(scannedChars, offset);
+        return scannedBytes;
+    }
+}
@@ -11,13 +11,8 @@ public class Constants {
     );
 
     public static final Set<String> RELATIONAL_OPS = Set.of("==", "!=", "<=", ">=");
-    public static final Set<String> ASSIGNMENT_OPS = Set.of("+=", "-=", "*=", "/=");
     public static final Set<String> ARITHMETIC_OPS_DOUBLE = Set.of("//", "**");
-    public static final Set<Character> ARITHMETIC_OPS_SINGLE = Set.of('*', '/', '+', '-', '%');
-
-    public static final Set<Character> SIMPLE_OPERATORS = Set.of(
-            '+', '-', '*', '/', '%', '=', '<', '>', '!'
-    );
+    public static final Set<Character> ARITHMETIC_OPS_SINGLE = Set.of('*', '/', '+', '-', '%', '@');
 
     public static final Set<Character> DELIMITERS = Set.of(
             '(', ')', '[', ']', '{', '}', ',', ':', '.', ';'
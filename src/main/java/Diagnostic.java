@@ -0,0 +1,15 @@
+/*
+    Aviso produzido durante a análise que não interrompe a geração de tokens.
+ */
+public record Diagnostic(int offset, int line, int column, String message) {
+
+    // Cria o aviso resolvendo a linha e a coluna pela tabela de linhas do código
+    public static Diagnostic at(LineIndex lines, int offset, String message) {
+        return new Diagnostic(offset, lines.line(offset), lines.column(offset), message);
+    }
+
+    @Override
+    public String toString() {
+        return message + " (linha " + line + ", coluna " + column + ")";
+    }
+}
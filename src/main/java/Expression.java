@@ -2,12 +2,21 @@ import java.util.Optional;
 import java.util.function.Predicate;
 
 public class Expression {
-    private final String value;
+    private String value;
     private int index = 0;
+    private int limit;
+    private final BulkScanner scanner = BulkScanner.create();
 
     // Construtor que inicializa a expressão e adiciona quebra de linha
     public Expression(String value) {
+        reset(value);
+    }
+
+    // Reaproveita a expressão para um novo código, voltando ao início
+    public void reset(String value) {
         this.value = value != null ? value+"\n" : "\n";
+        this.index = 0;
+        this.limit = this.value.length();
     }
 
     // Retorna o próximo caractere e avança o índice
@@ -40,7 +49,32 @@ public class Expression {
 
     // Verifica se o índice está fora dos limites da string
     public boolean isOutOfBounds(int index) {
-        return index >= value.length();
+        return index >= limit;
+    }
+
+    // Restringe a leitura aos primeiros maxChars caracteres; a posição seguinte passa a valer como o fim
+    public void setMaxChars(int maxChars) {
+        limit = maxChars >= value.length() - 1 ? value.length() : Math.max(0, maxChars) + 1;
+    }
+
+    // Posição (exclusiva) até onde a expressão pode ser lida
+    public int getLimit() {
+        return limit;
+    }
+
+    // Indica se setMaxChars deixou parte do código fora da leitura
+    public boolean isLimited() {
+        return limit < value.length();
+    }
+
+    // Retorna o texto completo da expressão
+    public String getValue() {
+        return value;
+    }
+
+    // Retorna a posição atual na expressão
+    public int getIndex() {
+        return index;
     }
 
     // Retorna o caractere na posição atual
@@ -50,22 +84,53 @@ public class Expression {
 
     // Acumula caracteres enquanto a condição for verdadeira
     public String accumulateWhile(Predicate<Character> condition) {
-        StringBuilder sb = new StringBuilder();
+        int start = index;
+        skipWhile(condition);
+        return value.substring(start, index);
+    }
+
+    // Avança enquanto a condição for verdadeira, sem montar o texto percorrido; retorna quantos caracteres pulou
+    public int skipWhile(Predicate<Character> condition) {
+        int start = index;
         while (hasNext() && condition.test(getCurrentChar())) {
-            sb.append(getCurrentChar());
             index++;
         }
-        return sb.toString();
+        return index - start;
+    }
+
+    // Pula espaços, tabulações e quebras de linha em bloco, no máximo maxChars; retorna quantos caracteres pulou
+    public int skipWhitespace(int maxChars) {
+        int start = index;
+        index = scanner.skipWhitespace(value, index, stop(maxChars));
+        return index - start;
+    }
+
+    // Avança até a quebra de linha da linha atual, no máximo maxChars; retorna quantos caracteres pulou
+    public int skipToLineEnd(int maxChars) {
+        int start = index;
+        index = scanner.skipToLineEnd(value, index, stop(maxChars));
+        return index - start;
+    }
+
+    // Avança sobre letras, dígitos e '_', no máximo maxChars; retorna quantos caracteres pulou
+    public int skipIdentifier(int maxChars) {
+        int start = index;
+        index = scanner.skipIdentifier(value, index, stop(maxChars));
+        return index - start;
+    }
+
+    // Posição onde uma varredura em bloco deve parar: o limite ou maxChars à frente, o que vier antes
+    private int stop(int maxChars) {
+        return (int) Math.min(limit - 1, (long) index + maxChars);
     }
 
     // Acumula caracteres baseado em uma janela de caracteres
     public String accumulateWhileWindow(int windowSize, Predicate<String> condition) {
-        StringBuilder sb = new StringBuilder();
+        int start = index;
         while (hasNext() && condition.test(getNext(windowSize))) {
-            sb.append(getCurrentChar());
             index++;
         }
-        return sb.toString();
+        return value.substring(start, index);
     }
 
     // Avança o índice por um número específico de posições
@@ -0,0 +1,222 @@
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutionException;
+
+/*
+    Índice invertido de identificadores e funções embutidas entre vários arquivos.
+
+    Formato em disco (big-endian):
+        int magic, int versão
+        int quantidade de arquivos, e para cada um: int tamanho + caminho em UTF-8
+        int quantidade de termos
+        tabela de termos ordenada (16 bytes por termo):
+            int posição do termo no bloco de termos, int tamanho do termo,
+            int posição das ocorrências no bloco de ocorrências, int quantidade de ocorrências
+        bloco de termos (UTF-8, ordenados por bytes)
+        bloco de ocorrências: pares (delta do arquivo, delta da posição) em varint;
+            a posição volta a ser absoluta sempre que o arquivo muda
+ */
+public class IdentifierIndex {
+
+    static final int MAGIC = 0x50594958;
+    static final int VERSION = 1;
+    static final int TERM_ENTRY_SIZE = 16;
+
+    public record Posting(int fileId, int offset) {
+    }
+
+    private final List<String> files;
+    private final Map<String, PostingList> postings;
+    private final Map<Integer, String> errors;
+
+    private IdentifierIndex(List<String> files, Map<String, PostingList> postings, Map<Integer, String> errors) {
+        this.files = files;
+        this.postings = postings;
+        this.errors = errors;
+    }
+
+    // Analisa os arquivos em paralelo e monta o índice enquanto os tokens são gerados
+    public static IdentifierIndex build(List<Path> paths, int threads) throws IOException, InterruptedException {
+        List<String> files = new ArrayList<>();
+        for (Path path : paths) {
+            files.add(path.toString());
+        }
+
+        Map<String, PostingList> postings = new ConcurrentHashMap<>();
+        Map<Integer, String> errors = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int fileId = 0; fileId < paths.size(); fileId++) {
+                final int id = fileId;
+                final Path path = paths.get(fileId);
+                futures.add(executor.submit(() -> {
+                    indexFile(id, path, postings, errors);
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new RuntimeException("Erro ao indexar arquivos", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (PostingList list : postings.values()) {
+            list.sort();
+        }
+
+        return new IdentifierIndex(files, postings, errors);
+    }
+
+    // Analisa um arquivo e adiciona as ocorrências de identificadores ao índice
+    private static void indexFile(int fileId, Path path, Map<String, PostingList> postings,
+                                  Map<Integer, String> errors) throws IOException {
+        List<Token> tokens;
+        try {
+            tokens = AnalyzerPool.tokenize(path);
+        } catch (RuntimeException e) {
+            errors.put(fileId, e.getMessage());
+            return;
+        }
+
+        for (Token token : tokens) {
+            if (token.getType() == TokenType.IDENTIFIER || token.getType() == TokenType.BUILT_IN_FUNCTION) {
+                postings.computeIfAbsent(token.getLexeme(), term -> new PostingList())
+                        .add(fileId, token.getOffset());
+            }
+        }
+    }
+
+    public List<String> getFiles() {
+        return Collections.unmodifiableList(files);
+    }
+
+    // Arquivos que não puderam ser analisados, com a mensagem de erro do analisador
+    public Map<Integer, String> getErrors() {
+        return Collections.unmodifiableMap(errors);
+    }
+
+    // Retorna as ocorrências de um termo, ordenadas por arquivo e posição
+    public List<Posting> lookup(String term) {
+        PostingList list = postings.get(term);
+        if (list == null) {
+            return List.of();
+        }
+        List<Posting> result = new ArrayList<>(list.size);
+        for (int i = 0; i < list.size; i++) {
+            result.add(new Posting(PostingList.fileId(list.values[i]), PostingList.offset(list.values[i])));
+        }
+        return result;
+    }
+
+    // Grava o índice no formato compacto descrito no início da classe
+    public void write(Path target) throws IOException {
+        byte[][] terms = new byte[postings.size()][];
+        int t = 0;
+        for (String term : postings.keySet()) {
+            terms[t++] = term.getBytes(StandardCharsets.UTF_8);
+        }
+        Arrays.sort(terms, Arrays::compareUnsigned);
+
+        ByteArrayOutputStream termBlock = new ByteArrayOutputStream();
+        ByteArrayOutputStream postingBlock = new ByteArrayOutputStream();
+        int[] table = new int[terms.length * 4];
+
+        for (int i = 0; i < terms.length; i++) {
+            PostingList list = postings.get(new String(terms[i], StandardCharsets.UTF_8));
+            table[i * 4] = termBlock.size();
+            table[i * 4 + 1] = terms[i].length;
+            table[i * 4 + 2] = postingBlock.size();
+            table[i * 4 + 3] = list.size;
+            termBlock.write(terms[i]);
+            list.encode(postingBlock);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(files.size());
+            for (String file : files) {
+                byte[] bytes = file.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            out.writeInt(terms.length);
+            for (int value : table) {
+                out.writeInt(value);
+            }
+            termBlock.writeTo(out);
+            postingBlock.writeTo(out);
+        }
+    }
+
+    // Lista de ocorrências compactada em longs (arquivo nos 32 bits altos, posição nos baixos)
+    private static final class PostingList {
+        private long[] values = new long[4];
+        private int size;
+
+        synchronized void add(int fileId, int offset) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = ((long) fileId << 32) | (offset & 0xFFFFFFFFL);
+        }
+
+        void sort() {
+            Arrays.sort(values, 0, size);
+        }
+
+        static int fileId(long value) {
+            return (int) (value >>> 32);
+        }
+
+        static int offset(long value) {
+            return (int) value;
+        }
+
+        void encode(OutputStream out) throws IOException {
+            int previousFile = 0;
+            int previousOffset = 0;
+            for (int i = 0; i < size; i++) {
+                int file = fileId(values[i]);
+                int offset = offset(values[i]);
+                int fileDelta = file - previousFile;
+                writeVarInt(out, fileDelta);
+                writeVarInt(out, fileDelta == 0 ? offset - previousOffset : offset);
+                previousFile = file;
+                previousOffset = offset;
+            }
+        }
+    }
+
+    static void writeVarInt(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
@@ -0,0 +1,40 @@
+import java.time.Duration;
+
+/*
+    Limites de uma análise léxica sobre código não confiável: quantidade máxima de caracteres lidos,
+    de tokens gerados e tempo máximo. Quando um limite é atingido, o analisador para e devolve os
+    tokens já gerados com um aviso de truncamento, em vez de ocupar a thread até o fim da entrada.
+ */
+public record LexBudget(int maxChars, int maxTokens, Duration timeout) {
+
+    public static final LexBudget UNLIMITED = new LexBudget(Integer.MAX_VALUE, Integer.MAX_VALUE, null);
+
+    public LexBudget {
+        if (maxChars < 0 || maxTokens < 0) {
+            throw new IllegalArgumentException("Limites do orçamento não podem ser negativos");
+        }
+        if (timeout != null && timeout.isNegative()) {
+            throw new IllegalArgumentException("Tempo limite não pode ser negativo");
+        }
+    }
+
+    public LexBudget withMaxChars(int maxChars) {
+        return new LexBudget(maxChars, maxTokens, timeout);
+    }
+
+    public LexBudget withMaxTokens(int maxTokens) {
+        return new LexBudget(maxChars, maxTokens, timeout);
+    }
+
+    public LexBudget withTimeout(Duration timeout) {
+        return new LexBudget(maxChars, maxTokens, timeout);
+    }
+
+    // Tempo limite em nanossegundos, ou Long.MAX_VALUE quando não há limite
+    long timeoutNanos() {
+        if (timeout == null || timeout.compareTo(Duration.ofNanos(Long.MAX_VALUE)) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        return timeout.toNanos();
+    }
+}
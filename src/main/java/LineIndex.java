@@ -0,0 +1,52 @@
+import java.util.Arrays;
+
+/*
+    Tabela com a posição de início de cada linha do código-fonte.
+    É montada uma única vez e permite converter uma posição (offset) em linha e coluna
+    por busca binária, sem contar quebras de linha durante a análise.
+ */
+public class LineIndex {
+
+    private final int[] lineStarts;
+    private final int lineCount;
+
+    // Percorre o código uma vez registrando a posição após cada quebra de linha
+    public LineIndex(CharSequence source) {
+        int[] starts = new int[16];
+        int count = 1;
+        int length = source.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = source.charAt(i);
+            if (c == '\n' || (c == '\r' && (i + 1 >= length || source.charAt(i + 1) != '\n'))) {
+                if (count == starts.length) {
+                    starts = Arrays.copyOf(starts, count * 2);
+                }
+                starts[count++] = i + 1;
+            }
+        }
+
+        this.lineStarts = starts;
+        this.lineCount = count;
+    }
+
+    // Retorna o número da linha (começando em 1) que contém a posição informada
+    public int line(int offset) {
+        int found = Arrays.binarySearch(lineStarts, 0, lineCount, offset);
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    // Retorna a coluna (começando em 1) da posição informada dentro da sua linha
+    public int column(int offset) {
+        return offset - lineStarts[line(offset) - 1] + 1;
+    }
+
+    // Retorna a posição do primeiro caractere da linha informada (começando em 1)
+    public int lineStart(int line) {
+        return lineStarts[line - 1];
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+}
@@ -1,4 +1,5 @@
 import java.io.File;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 
 /*
@@ -7,6 +8,15 @@ import java.nio.file.Paths;
 
 public class Main {
     public static void main(String[] args) {
+        if (args.length == 2 && args[0].equals("--watch")) {
+            watch(Paths.get(args[1]));
+            return;
+        }
+        if (args.length == 2 && args[0].equals("--archive")) {
+            analyzeArchive(Paths.get(args[1]));
+            return;
+        }
+
         String rootPath = Paths.get("").toAbsolutePath().toString();
         String subPath  = "/src/main/python/codes";
         String sourceCode = rootPath + subPath + "/program3.txt";
@@ -29,4 +39,62 @@ public class Main {
             e.printStackTrace();
         }
     }
+
+    // Analisa as entradas .py de um .zip ou .tar.gz sem extraí-lo
+    private static void analyzeArchive(Path archive) {
+        System.out.println("Analisando arquivo compactado: " + archive.toAbsolutePath());
+        System.out.println("-".repeat(45));
+
+        try {
+            ArchiveLexer lexer = new ArchiveLexer(Runtime.getRuntime().availableProcessors());
+            ArchiveLexer.Summary summary = lexer.process(archive, result -> {
+                if (result.error() != null) {
+                    System.out.println(result.name() + ": " + result.error());
+                } else {
+                    System.out.println(result.name() + ": " + result.tokenCount() + " tokens");
+                }
+            });
+
+            System.out.println("-".repeat(45));
+            System.out.printf("%d entradas (%d com erro), %d tokens em %.1f ms%n", summary.entries(),
+                    summary.failed(), summary.tokens(), summary.elapsedNanos() / 1e6);
+        } catch (Exception e) {
+            System.err.println("Erro durante análise: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // Modo contínuo: observa o diretório e reanalisa apenas os arquivos alterados
+    private static void watch(Path directory) {
+        System.out.println("Observando diretório: " + directory.toAbsolutePath());
+
+        try (SourceWatcher watcher = new SourceWatcher(directory,
+                path -> path.toString().endsWith(".py") || path.toString().endsWith(".txt"), 200)) {
+            watcher.setListener(result -> {
+                if (result.error() != null) {
+                    System.out.println(result.path() + ": " + result.error());
+                } else {
+                    System.out.println(result.path() + ": " + result.tokens().size() + " tokens");
+                }
+            });
+            watcher.start();
+
+            while (true) {
+                Thread.sleep(10_000);
+                SourceWatcher.Metrics metrics = watcher.getMetrics();
+                if (metrics.updates() > 0) {
+                    System.out.printf("Atualizações: %d, latência média %.1f ms, máxima %.1f ms%n",
+                            metrics.updates(), metrics.averageLatencyMillis(), metrics.maxLatencyMillis());
+                }
+                if (metrics.listenerFailures() > 0) {
+                    System.out.println("Falhas ao exibir resultados: " + metrics.listenerFailures());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Erro durante análise: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
 }
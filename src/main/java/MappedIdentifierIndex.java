@@ -0,0 +1,140 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    Consulta um índice gravado por IdentifierIndex.write sem carregá-lo para o heap:
+    o arquivo é mapeado em memória e os termos são encontrados por busca binária.
+ */
+public class MappedIdentifierIndex {
+
+    private final MappedByteBuffer buffer;
+    private final List<String> files;
+    private final int termCount;
+    private final int tableStart;
+    private final int termBlockStart;
+    private final int postingBlockStart;
+
+    private MappedIdentifierIndex(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+
+        if (buffer.getInt(0) != IdentifierIndex.MAGIC || buffer.getInt(4) != IdentifierIndex.VERSION) {
+            throw new RuntimeException("Erro: arquivo de índice inválido");
+        }
+
+        int position = 8;
+        int fileCount = buffer.getInt(position);
+        position += 4;
+        this.files = new ArrayList<>(fileCount);
+        for (int i = 0; i < fileCount; i++) {
+            int length = buffer.getInt(position);
+            files.add(readString(position + 4, length));
+            position += 4 + length;
+        }
+
+        this.termCount = buffer.getInt(position);
+        this.tableStart = position + 4;
+        this.termBlockStart = tableStart + termCount * IdentifierIndex.TERM_ENTRY_SIZE;
+
+        if (termCount == 0) {
+            this.postingBlockStart = termBlockStart;
+        } else {
+            int last = tableStart + (termCount - 1) * IdentifierIndex.TERM_ENTRY_SIZE;
+            this.postingBlockStart = termBlockStart + buffer.getInt(last) + buffer.getInt(last + 4);
+        }
+    }
+
+    // Abre o índice em modo somente leitura, mapeando o arquivo em memória
+    public static MappedIdentifierIndex open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MappedIdentifierIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public List<String> getFiles() {
+        return files;
+    }
+
+    public int getTermCount() {
+        return termCount;
+    }
+
+    // Retorna as ocorrências de um termo, ordenadas por arquivo e posição
+    public List<IdentifierIndex.Posting> lookup(String term) {
+        int entry = find(term.getBytes(StandardCharsets.UTF_8));
+        if (entry < 0) {
+            return List.of();
+        }
+
+        int position = postingBlockStart + buffer.getInt(entry + 8);
+        int count = buffer.getInt(entry + 12);
+        List<IdentifierIndex.Posting> result = new ArrayList<>(count);
+
+        int fileId = 0;
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            int fileDelta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                fileDelta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            int offsetValue = 0;
+            shift = 0;
+            do {
+                b = buffer.get(position++);
+                offsetValue |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            fileId += fileDelta;
+            offset = fileDelta == 0 ? offset + offsetValue : offsetValue;
+            result.add(new IdentifierIndex.Posting(fileId, offset));
+        }
+        return result;
+    }
+
+    // Busca binária na tabela de termos, comparando os bytes UTF-8 diretamente no buffer
+    private int find(byte[] term) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = tableStart + mid * IdentifierIndex.TERM_ENTRY_SIZE;
+            int cmp = compare(termBlockStart + buffer.getInt(entry), buffer.getInt(entry + 4), term);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    private int compare(int position, int length, byte[] term) {
+        int common = Math.min(length, term.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.toUnsignedInt(buffer.get(position + i)) - Byte.toUnsignedInt(term[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length - term.length;
+    }
+
+    private String readString(int position, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,360 @@
+import java.math.BigInteger;
+
+/*
+    Reconhece literais numéricos do Python 3 (decimais, hexadecimais, octais, binários,
+    com separadores '_', floats, notação científica e imaginários) e calcula o valor
+    durante a própria leitura, sem montar uma String intermediária.
+ */
+public class NumberScanner {
+
+    // Quantidade de dígitos significativos que cabem com folga em um long
+    private static final int MAX_SIGNIFICANT_DIGITS = 18;
+    private static final int MAX_EXPONENT = 100_000;
+    // Intervalo entre as chamadas à verificação de progresso em literais muito longos
+    private static final int CHECK_MASK = 0xFFFF;
+    private static final Runnable NO_CHECK = () -> { };
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private String source;
+    private int start;
+    private int pos;
+    private int limit;
+    private Runnable check = NO_CHECK;
+
+    private long mantissa;
+    private int significantDigits;
+    private int fractionDigits;
+    private int droppedDigits;
+    private boolean truncated;
+
+    private TokenType type;
+    private long longValue;
+    private double doubleValue;
+    private BigInteger bigValue;
+    private String error;
+
+    // Lê o número que começa na posição informada; retorna false e preenche o erro se for inválido
+    public boolean scan(String source, int start) {
+        return scan(source, start, source.length());
+    }
+
+    // Como scan(source, start), mas sem ler além da posição limit (exclusiva)
+    public boolean scan(String source, int start, int limit) {
+        return scan(source, start, limit, NO_CHECK);
+    }
+
+    // Como scan(source, start, limit), chamando check a cada 64K caracteres lidos; check pode lançar para interromper
+    public boolean scan(String source, int start, int limit, Runnable check) {
+        this.check = check;
+        this.source = source;
+        this.start = start;
+        this.limit = limit;
+        this.pos = start;
+        this.mantissa = 0;
+        this.significantDigits = 0;
+        this.fractionDigits = 0;
+        this.droppedDigits = 0;
+        this.truncated = false;
+        this.longValue = 0;
+        this.doubleValue = 0;
+        this.bigValue = null;
+        this.error = null;
+
+        if (source.charAt(start) == '0' && start + 1 < limit) {
+            switch (source.charAt(start + 1)) {
+                case 'x', 'X' -> {
+                    return scanPrefixed(16);
+                }
+                case 'o', 'O' -> {
+                    return scanPrefixed(8);
+                }
+                case 'b', 'B' -> {
+                    return scanPrefixed(2);
+                }
+                default -> {
+                }
+            }
+        }
+        return scanDecimal();
+    }
+
+    public int getEnd() {
+        return pos;
+    }
+
+    public TokenType getType() {
+        return type;
+    }
+
+    public long getLongValue() {
+        return longValue;
+    }
+
+    public double getDoubleValue() {
+        return doubleValue;
+    }
+
+    // Valor exato de inteiros que não cabem em um long, ou null
+    public BigInteger getBigValue() {
+        return bigValue;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    // Inteiros com prefixo 0x, 0o ou 0b
+    private boolean scanPrefixed(int radix) {
+        pos += 2;
+        int length = limit;
+        long value = 0;
+        boolean overflow = false;
+        int digits = 0;
+
+        while (pos < length) {
+            if (((pos - start) & CHECK_MASK) == CHECK_MASK) {
+                check.run();
+            }
+            char c = source.charAt(pos);
+            if (c == '_') {
+                if (pos + 1 < length && digitValue(source.charAt(pos + 1), radix) >= 0) {
+                    pos++;
+                    continue;
+                }
+                return invalid(pos + 1);
+            }
+
+            int digit = digitValue(c, radix);
+            if (digit < 0) {
+                break;
+            }
+            if (!overflow && value > (Long.MAX_VALUE - digit) / radix) {
+                overflow = true;
+            }
+            value = value * radix + digit;
+            digits++;
+            pos++;
+        }
+
+        if (digits == 0) {
+            return invalid(pos);
+        }
+        if (pos < length && Character.isLetterOrDigit(source.charAt(pos))) {
+            return invalid(pos + 1);
+        }
+
+        type = TokenType.INTEGER;
+        if (overflow) {
+            setBigValue(new BigInteger(withoutUnderscores(start + 2, pos), radix));
+        } else {
+            longValue = value;
+            doubleValue = value;
+        }
+        return true;
+    }
+
+    // Inteiros decimais, floats, notação científica e imaginários
+    private boolean scanDecimal() {
+        int length = limit;
+
+        int integerDigits = accumulateDigits(false);
+        if (integerDigits <= 0) {
+            return invalid(pos + 1);
+        }
+
+        boolean isFloat = false;
+        boolean isScientific = false;
+        boolean isImaginary = false;
+        int exponent = 0;
+
+        if (pos < length && source.charAt(pos) == '.') {
+            pos++;
+            int digits = accumulateDigits(true);
+            if (digits == 0) {
+                error = "Erro: número decimal inválido '" + source.substring(start, pos) + "'";
+                return false;
+            }
+            if (digits < 0) {
+                return invalid(pos + 1);
+            }
+            isFloat = true;
+        }
+
+        if (pos < length && (source.charAt(pos) == 'e' || source.charAt(pos) == 'E')) {
+            pos++;
+            boolean negative = false;
+            if (pos < length && (source.charAt(pos) == '+' || source.charAt(pos) == '-')) {
+                negative = source.charAt(pos) == '-';
+                pos++;
+            }
+
+            int digits = 0;
+            while (pos < length) {
+                if (((pos - start) & CHECK_MASK) == CHECK_MASK) {
+                    check.run();
+                }
+                char c = source.charAt(pos);
+                if (c == '_' && digits > 0 && pos + 1 < length && isDecimal(source.charAt(pos + 1))) {
+                    pos++;
+                    continue;
+                }
+                if (!isDecimal(c)) {
+                    break;
+                }
+                if (exponent < MAX_EXPONENT) {
+                    exponent = exponent * 10 + (c - '0');
+                }
+                digits++;
+                pos++;
+            }
+
+            if (digits == 0) {
+                error = "Erro: número científico inválido '" + source.substring(start, pos) + "'";
+                return false;
+            }
+            if (negative) {
+                exponent = -exponent;
+            }
+            isScientific = true;
+        }
+
+        if (pos < length && (source.charAt(pos) == 'j' || source.charAt(pos) == 'J')) {
+            pos++;
+            isImaginary = true;
+        }
+
+        if (pos < length && (Character.isLetter(source.charAt(pos)) || source.charAt(pos) == '_')) {
+            return invalid(pos + 1);
+        }
+
+        if (!isFloat && !isScientific && !isImaginary) {
+            // Python não aceita zeros à esquerda em inteiros decimais (exceto o próprio zero)
+            if (source.charAt(start) == '0' && (mantissa != 0 || truncated)) {
+                return invalid(pos);
+            }
+            type = TokenType.INTEGER;
+            if (droppedDigits == 0) {
+                longValue = mantissa;
+                doubleValue = mantissa;
+            } else {
+                BigInteger value = new BigInteger(withoutUnderscores(start, pos));
+                if (value.bitLength() < Long.SIZE) {
+                    longValue = value.longValue();
+                    doubleValue = longValue;
+                } else {
+                    setBigValue(value);
+                }
+            }
+            return true;
+        }
+
+        if (isImaginary) {
+            type = TokenType.IMAGINARY;
+        } else if (isScientific) {
+            type = TokenType.SCIENTIFIC;
+        } else {
+            type = TokenType.FLOAT;
+        }
+
+        int decimalExponent = exponent + droppedDigits - fractionDigits;
+        if (!truncated && mantissa <= (1L << 53)
+                && decimalExponent >= -22 && decimalExponent <= 22) {
+            // Caminho rápido de Clinger: mantissa e potência exatas, uma única operação arredondada
+            doubleValue = decimalExponent >= 0
+                    ? mantissa * POWERS_OF_TEN[decimalExponent]
+                    : mantissa / POWERS_OF_TEN[-decimalExponent];
+        } else {
+            doubleValue = Double.parseDouble(withoutUnderscores(start, isImaginary ? pos - 1 : pos));
+        }
+        longValue = (long) doubleValue;
+        return true;
+    }
+
+    // Acumula dígitos decimais na mantissa; retorna a quantidade lida ou -1 se um '_' estiver mal colocado
+    private int accumulateDigits(boolean fraction) {
+        int length = limit;
+        int count = 0;
+
+        while (pos < length) {
+            if (((pos - start) & CHECK_MASK) == CHECK_MASK) {
+                check.run();
+            }
+            char c = source.charAt(pos);
+            if (c == '_') {
+                if (count > 0 && pos + 1 < length && isDecimal(source.charAt(pos + 1))) {
+                    pos++;
+                    continue;
+                }
+                return -1;
+            }
+            if (!isDecimal(c)) {
+                break;
+            }
+
+            int digit = c - '0';
+            if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                if (mantissa != 0 || digit != 0) {
+                    significantDigits++;
+                }
+                mantissa = mantissa * 10 + digit;
+                if (fraction) {
+                    fractionDigits++;
+                }
+            } else {
+                truncated |= digit != 0;
+                if (!fraction) {
+                    droppedDigits++;
+                }
+            }
+            count++;
+            pos++;
+        }
+        return count;
+    }
+
+    private void setBigValue(BigInteger value) {
+        bigValue = value;
+        longValue = value.longValue();
+        doubleValue = value.doubleValue();
+    }
+
+    private boolean invalid(int end) {
+        pos = Math.min(end, limit);
+        error = "Erro: número inválido '" + source.substring(start, pos) + "'";
+        return false;
+    }
+
+    // Usado apenas nos caminhos de fallback (BigInteger e Double.parseDouble)
+    private String withoutUnderscores(int from, int to) {
+        StringBuilder sb = new StringBuilder(to - from);
+        for (int i = from; i < to; i++) {
+            char c = source.charAt(i);
+            if (c != '_') {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isDecimal(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int digitValue(char c, int radix) {
+        int value;
+        if (c >= '0' && c <= '9') {
+            value = c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            value = c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'F') {
+            value = c - 'A' + 10;
+        } else {
+            return -1;
+        }
+        return value < radix ? value : -1;
+    }
+}
@@ -0,0 +1,40 @@
+import java.math.BigInteger;
+
+/*
+    Token de literal numérico que carrega o valor já decodificado pelo analisador,
+    evitando que os consumidores precisem converter o lexema novamente.
+ */
+public class NumberToken extends Token {
+
+    private final long longValue;
+    private final double doubleValue;
+    private final BigInteger bigValue;
+
+    public NumberToken(TokenType type, String lexeme, int offset, long longValue, double doubleValue,
+                       BigInteger bigValue) {
+        super(type, lexeme, offset);
+        this.longValue = longValue;
+        this.doubleValue = doubleValue;
+        this.bigValue = bigValue;
+    }
+
+    // Valor inteiro do literal (truncado para floats e para inteiros que não cabem em um long)
+    public long getLongValue() {
+        return longValue;
+    }
+
+    // Valor do literal como double (para imaginários, o valor da parte imaginária)
+    public double getDoubleValue() {
+        return doubleValue;
+    }
+
+    // Indica se o inteiro cabe em um long sem perda
+    public boolean fitsInLong() {
+        return bigValue == null;
+    }
+
+    // Valor exato de um literal inteiro, mesmo quando não cabe em um long
+    public BigInteger getBigIntegerValue() {
+        return bigValue != null ? bigValue : BigInteger.valueOf(longValue);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+    Reconhecedor de operadores do Python 3 por casamento mais longo (maximal munch).
+    Cada operador tem um identificador fixo; o lexema e o tipo ficam em tabelas estáticas,
+    então o reconhecimento não aloca nenhum objeto.
+ */
+public class OperatorTable {
+
+    public static final int NO_MATCH = -1;
+
+    private static final String[] LEXEMES = {
+            "+", "-", "*", "/", "%", "@", "//", "**",
+            "&", "|", "^", "~", "<<", ">>",
+            "==", "!=", "<", ">", "<=", ">=",
+            "=", "+=", "-=", "*=", "/=", "%=", "@=", "//=", "**=",
+            "&=", "|=", "^=", "<<=", ">>=", ":=",
+            "!", "->"
+    };
+
+    private static final TokenType[] TYPES = new TokenType[LEXEMES.length];
+
+    private static final int PLUS = 0, MINUS = 1, STAR = 2, SLASH = 3, PERCENT = 4, AT = 5,
+            DOUBLE_SLASH = 6, DOUBLE_STAR = 7;
+    private static final int AMPERSAND = 8, PIPE = 9, CARET = 10, TILDE = 11, LEFT_SHIFT = 12, RIGHT_SHIFT = 13;
+    private static final int EQUAL = 14, NOT_EQUAL = 15, LESS = 16, GREATER = 17, LESS_EQUAL = 18,
+            GREATER_EQUAL = 19;
+    private static final int ASSIGN = 20, PLUS_ASSIGN = 21, MINUS_ASSIGN = 22, STAR_ASSIGN = 23,
+            SLASH_ASSIGN = 24, PERCENT_ASSIGN = 25, AT_ASSIGN = 26, DOUBLE_SLASH_ASSIGN = 27,
+            DOUBLE_STAR_ASSIGN = 28, AMPERSAND_ASSIGN = 29, PIPE_ASSIGN = 30, CARET_ASSIGN = 31,
+            LEFT_SHIFT_ASSIGN = 32, RIGHT_SHIFT_ASSIGN = 33, WALRUS = 34;
+    private static final int NOT = 35, ARROW = 36;
+
+    static {
+        for (int id = PLUS; id <= DOUBLE_STAR; id++) {
+            TYPES[id] = TokenType.ARITHMETIC_OP;
+        }
+        for (int id = AMPERSAND; id <= RIGHT_SHIFT; id++) {
+            TYPES[id] = TokenType.BITWISE_OP;
+        }
+        for (int id = EQUAL; id <= GREATER_EQUAL; id++) {
+            TYPES[id] = TokenType.RELATIONAL_OP;
+        }
+        for (int id = ASSIGN; id <= WALRUS; id++) {
+            TYPES[id] = TokenType.ASSIGNMENT_OP;
+        }
+        TYPES[NOT] = TokenType.LOGICAL_OP;
+        TYPES[ARROW] = TokenType.ARROW;
+    }
+
+    private OperatorTable() {
+    }
+
+    // Retorna o identificador do operador mais longo que começa na posição, ou NO_MATCH
+    public static int match(String source, int index) {
+        int length = source.length();
+        char c1 = index + 1 < length ? source.charAt(index + 1) : '\0';
+        char c2 = index + 2 < length ? source.charAt(index + 2) : '\0';
+
+        return switch (source.charAt(index)) {
+            case '+' -> c1 == '=' ? PLUS_ASSIGN : PLUS;
+            case '%' -> c1 == '=' ? PERCENT_ASSIGN : PERCENT;
+            case '@' -> c1 == '=' ? AT_ASSIGN : AT;
+            case '&' -> c1 == '=' ? AMPERSAND_ASSIGN : AMPERSAND;
+            case '|' -> c1 == '=' ? PIPE_ASSIGN : PIPE;
+            case '^' -> c1 == '=' ? CARET_ASSIGN : CARET;
+            case '~' -> TILDE;
+            case '=' -> c1 == '=' ? EQUAL : ASSIGN;
+            case '!' -> c1 == '=' ? NOT_EQUAL : NOT;
+            case ':' -> c1 == '=' ? WALRUS : NO_MATCH;
+            case '-' -> c1 == '=' ? MINUS_ASSIGN : c1 == '>' ? ARROW : MINUS;
+            case '*' -> c1 == '*' ? (c2 == '=' ? DOUBLE_STAR_ASSIGN : DOUBLE_STAR)
+                    : c1 == '=' ? STAR_ASSIGN : STAR;
+            case '/' -> c1 == '/' ? (c2 == '=' ? DOUBLE_SLASH_ASSIGN : DOUBLE_SLASH)
+                    : c1 == '=' ? SLASH_ASSIGN : SLASH;
+            case '<' -> c1 == '<' ? (c2 == '=' ? LEFT_SHIFT_ASSIGN : LEFT_SHIFT)
+                    : c1 == '=' ? LESS_EQUAL : LESS;
+            case '>' -> c1 == '>' ? (c2 == '=' ? RIGHT_SHIFT_ASSIGN : RIGHT_SHIFT)
+                    : c1 == '=' ? GREATER_EQUAL : GREATER;
+            default -> NO_MATCH;
+        };
+    }
+
+    public static String lexeme(int id) {
+        return LEXEMES[id];
+    }
+
+    public static TokenType type(int id) {
+        return TYPES[id];
+    }
+
+    public static int length(int id) {
+        return LEXEMES[id].length();
+    }
+}
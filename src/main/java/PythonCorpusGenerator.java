@@ -0,0 +1,224 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+
+/*
+    Gerador determinístico (por semente) de código Python sintético para testes de escala.
+    Usa apenas construções que o PythonLexicalAnalyzer aceita: blocos com corpo indentado
+    em 4 espaços logo após ':', continuação de linhas dentro de colchetes em qualquer
+    múltiplo de 4, strings simples e multilinha, números em todas as bases e comentários.
+ */
+public class PythonCorpusGenerator {
+
+    public enum Mix {
+        // pesos de: identificadores, strings, números, indentação profunda, blocos, comentários
+        BALANCED(3, 2, 2, 1, 2, 1),
+        IDENTIFIER_HEAVY(8, 1, 1, 0, 2, 1),
+        STRING_HEAVY(1, 8, 1, 0, 1, 1),
+        NUMERIC_HEAVY(1, 1, 8, 1, 1, 0),
+        DEEP_INDENTATION(1, 1, 1, 8, 2, 0);
+
+        private final int[] weights;
+
+        Mix(int... weights) {
+            this.weights = weights;
+        }
+    }
+
+    private static final String[] WORDS = {
+            "valor", "total", "nome", "dados", "lista", "item", "conta", "indice",
+            "resultado", "texto", "linha", "chave", "peso", "media", "saldo", "tempo"
+    };
+
+    private static final String[] OPERATORS = {"+", "-", "*", "/", "//", "%", "**", "&", "|", "^", "<<", ">>"};
+
+    private static final String[] COMPARISONS = {"==", "!=", "<", ">", "<=", ">="};
+
+    private final Random random;
+    private final Mix mix;
+    private final int totalWeight;
+
+    public PythonCorpusGenerator(long seed, Mix mix) {
+        this.random = new Random(seed);
+        this.mix = mix;
+        int sum = 0;
+        for (int weight : mix.weights) {
+            sum += weight;
+        }
+        this.totalWeight = sum;
+    }
+
+    // Gera código até atingir (aproximadamente) a quantidade de caracteres pedida
+    public String generate(int targetChars) {
+        StringBuilder sb = new StringBuilder(targetChars + 256);
+        try {
+            generate(sb, targetChars);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return sb.toString();
+    }
+
+    // Gera código em fluxo, o que permite produzir arquivos de vários GB
+    public void generate(Appendable out, long targetChars) throws IOException {
+        StringBuilder statement = new StringBuilder(256);
+        long written = 0;
+        while (written < targetChars) {
+            statement.setLength(0);
+            appendStatement(statement);
+            out.append(statement);
+            written += statement.length();
+        }
+    }
+
+    private void appendStatement(StringBuilder sb) {
+        int choice = random.nextInt(totalWeight);
+        int kind = 0;
+        while (choice >= mix.weights[kind]) {
+            choice -= mix.weights[kind];
+            kind++;
+        }
+
+        switch (kind) {
+            case 0 -> appendAssignment(sb);
+            case 1 -> appendString(sb);
+            case 2 -> appendNumbers(sb);
+            case 3 -> appendDeepList(sb);
+            case 4 -> appendBlock(sb);
+            default -> sb.append("# comentário ").append(word()).append(' ')
+                    .append(random.nextInt(1000)).append('\n');
+        }
+    }
+
+    private void appendAssignment(StringBuilder sb) {
+        sb.append(identifier()).append(" = ").append(expression()).append('\n');
+    }
+
+    private void appendString(StringBuilder sb) {
+        if (random.nextInt(4) == 0) {
+            sb.append(identifier()).append(" = \"\"\"").append(sentence()).append('\n')
+                    .append(sentence()).append('\n')
+                    .append(sentence()).append("\"\"\"\n");
+        } else {
+            char quote = random.nextBoolean() ? '"' : '\'';
+            sb.append(identifier()).append(" = ").append(quote).append(sentence());
+            if (random.nextInt(3) == 0) {
+                sb.append(" \\").append(quote).append(word()).append('\\').append(quote);
+            }
+            sb.append(quote).append('\n');
+        }
+    }
+
+    private void appendNumbers(StringBuilder sb) {
+        sb.append(identifier()).append(" = [");
+        int count = 4 + random.nextInt(12);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(number());
+        }
+        sb.append("]\n");
+    }
+
+    // Lista cujas linhas de continuação avançam a indentação em múltiplos de 4
+    private void appendDeepList(StringBuilder sb) {
+        sb.append(identifier()).append(" = [\n");
+        int depth = 2 + random.nextInt(10);
+        for (int level = 1; level <= depth; level++) {
+            sb.append("    ".repeat(level)).append(expression()).append(",\n");
+        }
+        sb.append("]\n");
+    }
+
+    private void appendBlock(StringBuilder sb) {
+        switch (random.nextInt(4)) {
+            case 0 -> sb.append("if ").append(condition()).append(":\n");
+            case 1 -> sb.append("while ").append(condition()).append(":\n");
+            case 2 -> sb.append("for ").append(identifier()).append(" in range(")
+                    .append(random.nextInt(100)).append("):\n");
+            default -> sb.append("def ").append(identifier()).append('(').append(identifier())
+                    .append(", ").append(identifier()).append("):\n");
+        }
+        int statements = 1 + random.nextInt(3);
+        for (int i = 0; i < statements; i++) {
+            sb.append("    ");
+            if (i == statements - 1 && random.nextBoolean()) {
+                sb.append("return ").append(expression()).append('\n');
+            } else {
+                appendAssignment(sb);
+            }
+        }
+    }
+
+    private String expression() {
+        StringBuilder sb = new StringBuilder();
+        int terms = 1 + random.nextInt(4);
+        for (int i = 0; i < terms; i++) {
+            if (i > 0) {
+                sb.append(' ').append(OPERATORS[random.nextInt(OPERATORS.length)]).append(' ');
+            }
+            switch (random.nextInt(4)) {
+                case 0 -> sb.append(number());
+                case 1 -> sb.append("print(").append(identifier()).append(')');
+                default -> sb.append(identifier());
+            }
+        }
+        return sb.toString();
+    }
+
+    private String condition() {
+        String condition = identifier() + " " + COMPARISONS[random.nextInt(COMPARISONS.length)] + " " + number();
+        return random.nextInt(3) == 0 ? condition + " and not " + identifier() : condition;
+    }
+
+    private String number() {
+        return switch (random.nextInt(7)) {
+            case 0 -> Integer.toString(random.nextInt(100_000));
+            case 1 -> random.nextInt(1000) + "." + random.nextInt(1000);
+            case 2 -> random.nextInt(10) + "." + random.nextInt(100) + "e" + (random.nextInt(40) - 20);
+            case 3 -> "0x" + Integer.toHexString(random.nextInt(1 << 20));
+            case 4 -> "0b" + Integer.toBinaryString(random.nextInt(256));
+            case 5 -> (1 + random.nextInt(999)) + "_" + String.format(Locale.ROOT, "%03d", random.nextInt(1000));
+            default -> random.nextInt(100) + "j";
+        };
+    }
+
+    private String identifier() {
+        String word = word();
+        return random.nextBoolean() ? word : word + "_" + random.nextInt(100);
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private String sentence() {
+        StringBuilder sb = new StringBuilder(word());
+        int words = 2 + random.nextInt(8);
+        for (int i = 0; i < words; i++) {
+            sb.append(' ').append(word());
+        }
+        return sb.toString();
+    }
+
+    // Uso: java PythonCorpusGenerator <semente> <mistura> <caracteres> <arquivo de saída>
+    public static void main(String[] args) throws IOException {
+        if (args.length != 4) {
+            System.err.println("Uso: PythonCorpusGenerator <semente> <"
+                    + String.join("|", Arrays.stream(Mix.values()).map(Enum::name).toList())
+                    + "> <caracteres> <arquivo>");
+            return;
+        }
+
+        PythonCorpusGenerator generator = new PythonCorpusGenerator(Long.parseLong(args[0]), Mix.valueOf(args[1]));
+        try (Writer out = Files.newBufferedWriter(Path.of(args[3]), StandardCharsets.UTF_8)) {
+            generator.generate(out, Long.parseLong(args[2]));
+        }
+    }
+}
@@ -1,52 +1,91 @@
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.util.Set;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
 import static java.util.Objects.nonNull;
 
 public class PythonLexicalAnalyzer {
-    
+
+    private static final String CHAR_LIMIT = "limite de caracteres atingido";
+    // Quantidade de caracteres lidos em bloco entre duas verificações de tempo e cancelamento
+    private static final int CHECK_INTERVAL = 1 << 16;
+
     private final Expression expr;
+    private int tokenStart;
+    private LineIndex lineIndex;
+    private final NumberScanner numberScanner = new NumberScanner();
+    private final Runnable numberCheck = () -> checkBudget(tokenStart);
+    private final BracketIndex brackets = new BracketIndex(this::getLineIndex);
+    private int tokenCount;
+
+    // Deslocamento do trecho analisado quando a análise é retomada a partir de um checkpoint
+    private int baseOffset;
+    private int baseLine;
+    private CheckpointIndex checkpoints;
+
+    // Limites da chamada atual a tokenize() e o aviso gerado quando algum deles interrompe a análise
+    private LexBudget budget = LexBudget.UNLIMITED;
+    private CancellationToken cancellation = CancellationToken.NONE;
+    private long startNanos;
+    private Diagnostic truncation;
 
     // Construtor que recebe arquivo e verifica indentações
     public PythonLexicalAnalyzer(File file) throws IOException, RuntimeException {
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            int lineNumber = 0;
-
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                if (line.trim().isEmpty() || line.trim().startsWith("#")) {
-                    continue;
-                }
+        String code = readFile(file);
+        checkIndentation(code);
+        this.expr = new Expression(code);
+    }
 
-                int currentIndent = countIndentation(line);
-                
-                if (currentIndent % 4 != 0) {
-                    throw new RuntimeException("Erro de indentação: indentação incorreta na linha " + lineNumber);
+    // Verifica se cada linha com código tem indentação múltipla de 4
+    static void checkIndentation(String code) {
+        int length = code.length();
+        int lineNumber = 0;
+        int i = 0;
+
+        while (i < length) {
+            lineNumber++;
+            int currentIndent = 0;
+            boolean countingIndent = true;
+            char firstVisible = 0;
+
+            while (i < length && code.charAt(i) != '\n' && code.charAt(i) != '\r') {
+                char c = code.charAt(i++);
+                if (countingIndent) {
+                    if (c == ' ') {
+                        currentIndent++;
+                    } else if (c == '\t') {
+                        currentIndent += 4;
+                    } else {
+                        countingIndent = false;
+                    }
+                }
+                if (firstVisible == 0 && c > ' ') {
+                    firstVisible = c;
                 }
             }
-        }
+            if (i < length && code.charAt(i) == '\r' && i + 1 < length && code.charAt(i + 1) == '\n') {
+                i++;
+            }
+            i++;
 
-        this.expr = new Expression(readFile(file));
-    }
+            if (firstVisible == 0 || firstVisible == '#') {
+                continue;
+            }
 
-    // Realiza a contagem de espaços no início da linha
-    private int countIndentation(String line) {
-        int count = 0;
-        for (char c : line.toCharArray()) {
-            if (c == ' ') {
-                count++;
-            } else if (c == '\t') {
-                count += 4;
-            } else {
-                break;
+            if (currentIndent % 4 != 0) {
+                throw new RuntimeException("Erro de indentação: indentação incorreta na linha " + lineNumber);
             }
         }
-        return count;
     }
 
     // Construtor que recebe string de código
@@ -54,19 +93,214 @@ public class PythonLexicalAnalyzer {
         this.expr = new Expression(code);
     }
 
+    // Reaproveita o analisador para outro código, mantendo os buffers internos
+    public void reset(CharSequence code) {
+        expr.reset(code.toString());
+        tokenStart = 0;
+        lineIndex = null;
+        baseOffset = 0;
+        baseLine = 0;
+        checkpoints = null;
+        tokenCount = 0;
+        truncation = null;
+        budget = LexBudget.UNLIMITED;
+        cancellation = CancellationToken.NONE;
+        startNanos = 0;
+        brackets.reset();
+    }
+
+    // Reaproveita o analisador para outro arquivo, verificando as indentações como o construtor
+    public void reset(File file) throws IOException {
+        String code = readFile(file);
+        checkIndentation(code);
+        reset(code);
+    }
+
     // Lê o conteúdo de um arquivo
-    private String readFile(File file) throws IOException {
+    private static String readFile(File file) throws IOException {
         return Files.readString(file.toPath());
     }
 
     // Método principal que analisa todo o código e imprime os tokens
     public void analyzeCode() {
+        tokenize(System.out::println);
+    }
+
+    // Analisa todo o código e retorna a lista de tokens encontrados
+    public List<Token> tokenize() {
+        List<Token> tokens = new ArrayList<>();
+        tokenize(tokens::add);
+        return tokens;
+    }
+
+    // Analisa todo o código entregando cada token ao consumidor (por exemplo, um TokenStore)
+    public void tokenize(Consumer<Token> sink) {
+        tokenize(sink, LexBudget.UNLIMITED, CancellationToken.NONE);
+    }
+
+    // Analisa dentro dos limites informados; se algum for atingido, retorna os tokens gerados até ali
+    public List<Token> tokenize(LexBudget budget, CancellationToken cancellation) {
+        List<Token> tokens = new ArrayList<>();
+        tokenize(tokens::add, budget, cancellation);
+        return tokens;
+    }
+
+    // Analisa dentro dos limites informados, parando com um aviso de truncamento (veja isTruncated())
+    public void tokenize(Consumer<Token> sink, LexBudget budget, CancellationToken cancellation) {
+        this.budget = budget;
+        this.cancellation = cancellation;
+        startNanos = System.nanoTime();
+        truncation = null;
+        expr.setMaxChars(budget.maxChars());
+        brackets.reset();
+        tokenCount = 0;
+
+        try {
+            scanTokens(sink);
+        } catch (BudgetExhausted e) {
+            // O código após o ponto de parada não foi lido e não precisa entrar na tabela de linhas
+            expr.setMaxChars(e.offset);
+            truncation = Diagnostic.at(getLineIndex(), e.offset, "Aviso: análise interrompida, " + e.getMessage());
+        } finally {
+            // O orçamento vale só para esta chamada; tokenizeLines lê tokens fora dela
+            this.budget = LexBudget.UNLIMITED;
+            this.cancellation = CancellationToken.NONE;
+        }
+        brackets.finish(tokenCount);
+    }
+
+    private void scanTokens(Consumer<Token> sink) {
+        int previousTokenEnd = 0;
         while (expr.hasNext()) {
-            Token token = getToken();
+            if (cancellation.isCancelled() || (tokenCount & 63) == 0) {
+                checkBudget(expr.getIndex());
+            }
+
+            Token token;
+            try {
+                token = getToken();
+            } catch (BudgetExhausted e) {
+                throw e;
+            } catch (RuntimeException e) {
+                // O erro pode vir apenas do corte feito pelo limite de caracteres
+                if (reachedCharLimit()) {
+                    throw new BudgetExhausted(CHAR_LIMIT, tokenStart);
+                }
+                throw e;
+            }
+
+            if (nonNull(token)) {
+                // Um token que encosta no limite de caracteres pode estar incompleto e é descartado
+                if (reachedCharLimit() || crossesCharLimit(token)) {
+                    throw new BudgetExhausted(CHAR_LIMIT, tokenStart);
+                }
+                if (tokenCount >= budget.maxTokens()) {
+                    throw new BudgetExhausted("limite de tokens atingido", tokenStart);
+                }
+                trackBracket(token);
+                sink.accept(token);
+                tokenCount++;
+                if (checkpoints != null) {
+                    int line = getLineIndex().line(tokenStart);
+                    checkpoints.onToken(expr.getValue(), getLineIndex().lineStart(line), line, tokenStart,
+                            previousTokenEnd);
+                    previousTokenEnd = expr.getIndex();
+                }
+            }
+        }
+        // O último bloco pode ter estourado o tempo sem passar por outra verificação
+        checkBudget(expr.getIndex());
+        if (expr.isLimited()) {
+            throw new BudgetExhausted(CHAR_LIMIT, expr.getIndex());
+        }
+        if (checkpoints != null) {
+            checkpoints.finish(expr.getValue(), expr.getValue().length() - 1);
+        }
+    }
+
+    // Registra parênteses, colchetes e chaves só depois que o token passou pelos limites e será entregue
+    private void trackBracket(Token token) {
+        switch (token.getType()) {
+            case LEFT_PARENTHESIS, LEFT_BRACKET, LEFT_BRACE ->
+                    brackets.open(tokenCount, token.getLexeme().charAt(0), tokenStart);
+            case RIGHT_PARENTHESIS, RIGHT_BRACKET, RIGHT_BRACE ->
+                    brackets.close(tokenCount, token.getLexeme().charAt(0), tokenStart);
+            default -> {
+            }
+        }
+    }
+
+    private boolean reachedCharLimit() {
+        return expr.isLimited() && expr.getIndex() >= expr.getLimit() - 1;
+    }
+
+    // Operadores são reconhecidos olhando o código completo e podem terminar depois do limite
+    private boolean crossesCharLimit(Token token) {
+        return expr.isLimited() && tokenStart + token.getLexeme().length() >= expr.getLimit() - 1;
+    }
+
+    // Verifica cancelamento e tempo limite; chamado a cada 64 tokens e a cada CHECK_INTERVAL caracteres de um token longo
+    private void checkBudget(int offset) {
+        if (cancellation.isCancelled()) {
+            throw new BudgetExhausted("análise cancelada", offset);
+        }
+        if (System.nanoTime() - startNanos >= budget.timeoutNanos()) {
+            throw new BudgetExhausted("tempo limite excedido", offset);
+        }
+    }
+
+    // Indica se a última chamada a tokenize() parou por causa do orçamento ou de cancelamento
+    public boolean isTruncated() {
+        return truncation != null;
+    }
+
+    // Ativa a gravação de checkpoints durante tokenize(), a cada intervalo de linhas ou de bytes
+    public CheckpointIndex enableCheckpoints(int lineInterval, long byteInterval) {
+        checkpoints = new CheckpointIndex(lineInterval, byteInterval);
+        return checkpoints;
+    }
+
+    public CheckpointIndex getCheckpointIndex() {
+        return checkpoints;
+    }
+
+    // Analisa apenas as linhas pedidas, retomando a partir do checkpoint mais próximo
+    public static List<Token> tokenizeLines(Path file, CheckpointIndex index, int fromLine, int toLine)
+            throws IOException {
+        CheckpointIndex.Checkpoint checkpoint = index.floor(fromLine);
+        long windowEnd = index.windowEnd(toLine);
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(windowEnd - checkpoint.byteOffset()));
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != index.getSourceBytes()) {
+                throw new RuntimeException("Erro: índice de checkpoints desatualizado para " + file);
+            }
+            long position = checkpoint.byteOffset();
+            while (buffer.hasRemaining() && channel.read(buffer, position) > 0) {
+                position = checkpoint.byteOffset() + buffer.position();
+            }
+        }
+
+        PythonLexicalAnalyzer analyzer = new PythonLexicalAnalyzer(
+                StandardCharsets.UTF_8.decode(buffer.flip()).toString());
+        analyzer.baseOffset = checkpoint.charOffset();
+        analyzer.baseLine = checkpoint.line() - 1;
+
+        List<Token> tokens = new ArrayList<>();
+        while (analyzer.expr.hasNext()) {
+            Token token = analyzer.getToken();
             if (nonNull(token)) {
-                System.out.println(token);
+                analyzer.tokenCount++;
+                int line = analyzer.getLine(token);
+                if (line > toLine) {
+                    break;
+                }
+                if (line >= fromLine) {
+                    tokens.add(token);
+                }
             }
         }
+        return tokens;
     }
 
     // Identifica e retorna o próximo token do código
@@ -77,6 +311,8 @@ public class PythonLexicalAnalyzer {
             return null;
         }
 
+        tokenStart = expr.getIndex();
+
         if (expr.getCurrentChar() == '#') {
             return readComment();
         } else if (expr.currentCharIsAnyOf('"', '\'')) {
@@ -85,17 +321,18 @@ public class PythonLexicalAnalyzer {
             return readNumber();
         } else if (Character.isLetter(expr.getCurrentChar()) || expr.getCurrentChar() == '_') {
             return readIdentifier();
-        } else if (Constants.SIMPLE_OPERATORS.contains(expr.getCurrentChar())) {
-            return readOperator();
+        }
+
+        int operator = OperatorTable.match(expr.getValue(), expr.getIndex());
+        if (operator != OperatorTable.NO_MATCH) {
+            return readOperator(operator);
         } else if (Constants.DELIMITERS.contains(expr.getCurrentChar())) {
             return readDelimiter();
         }
 
         char invalidSymbol = expr.getCurrentChar();
         expr.advance();
-        throw new RuntimeException(
-                "Erro: símbolo inválido '" + invalidSymbol + "'"
-        );
+        throw lexicalError("Erro: símbolo inválido '" + invalidSymbol + "'", tokenStart);
     }
 
     // Identifica delimitadores como parênteses, chaves, vírgulas, etc.
@@ -125,29 +362,34 @@ public class PythonLexicalAnalyzer {
                         expr.advance();
                     }
 
-                    String indentation = expr.accumulateWhile(symbol -> symbol == ' ' || symbol == '\t');
-                    if (indentation.length() != 4) {
-                        throw new RuntimeException("Erro de indentação: indentação incorreta após o símbolo ':'");
+                    int indentation = expr.skipWhile(symbol -> symbol == ' ' || symbol == '\t');
+                    if (indentation != 4) {
+                        throw lexicalError("Erro de indentação: indentação incorreta após o símbolo ':'", expr.getIndex());
                     }
                 } else {
-                    throw new RuntimeException("Erro de indentação: esperado quebra de linha após ':'");
+                    throw lexicalError("Erro de indentação: esperado quebra de linha após ':'", expr.getIndex());
                 }
             }
         }
 
-        return new Token(delimiterType, String.valueOf(c));
+        return newToken(delimiterType, String.valueOf(c));
     }
 
     // Pula espaços em branco, tabs e quebras de linha
     private void skipSpaces() {
-        expr.accumulateWhile(c -> c == ' ' || c == '\t' || c == '\r' || c == '\n');
+        while (expr.skipWhitespace(CHECK_INTERVAL) == CHECK_INTERVAL) {
+            checkBudget(expr.getIndex());
+        }
     }
 
     // Identifica comentários que começam com #
     private Token readComment() {
-        String result = expr.accumulateWhile(c -> c != '\n' && c != '\r');
+        while (expr.skipToLineEnd(CHECK_INTERVAL) == CHECK_INTERVAL) {
+            checkBudget(tokenStart);
+        }
+        String result = expr.getValue().substring(tokenStart, expr.getIndex());
 
-        return new Token(TokenType.COMMENT, result);
+        return newToken(TokenType.COMMENT, result);
     }
 
     // Identifica strings com aspas simples ou duplas, incluindo multiline
@@ -159,81 +401,71 @@ public class PythonLexicalAnalyzer {
         String quotes = expr.accumulateWhile(c -> c == quoteType);
 
         if (quotes.length() == 2 || quotes.length() == 6)
-            return new Token(TokenType.STRING, quotes);
+            return newToken(TokenType.STRING, quotes);
 
         multiline = quotes.length() >= 3;
         int windowSize = multiline ? 4 : 2;
 
-        String tokenString = quotes;
+        String source = expr.getValue();
+        int limit = expr.getLimit();
+        int index = expr.getIndex();
+        while (index + 1 < limit && continuesString(source, limit, index, quotes, windowSize, multiline)) {
+            index++;
+            if ((index & (CHECK_INTERVAL - 1)) == 0) {
+                checkBudget(tokenStart);
+            }
+        }
+        expr.advance(index - expr.getIndex());
 
-        tokenString += expr.accumulateWhileWindow(windowSize, s ->  s.equals("\\"+quotes) || !s.endsWith(quotes) || (s.endsWith("\n") && !multiline));
-        tokenString += expr.getNext(windowSize);
+        int end = index + windowSize < limit ? index + windowSize : index;
         expr.advance(windowSize);
+        String tokenString = source.substring(tokenStart, end);
 
         if (tokenString.contains("\n") && !multiline) {
-            throw new RuntimeException("Erro: string não fechada");
+            throw lexicalError("Erro: string não fechada", tokenStart);
         }
 
-        return new Token(TokenType.STRING, tokenString);
+        return newToken(TokenType.STRING, tokenString);
     }
 
-    // Identifica números inteiros, floats e notação científica
-    private Token readNumber() {
-        boolean isFloat = false;
-        boolean isScientific = false;
-        String numberStr = expr.accumulateWhile(Character::isDigit);
-
-        if (expr.hasNext() && expr.getCurrentChar() == '.') {
-            isFloat = true;
-            numberStr += expr.getCurrentChar();
-            expr.advance();
-
-            String fractionPart = expr.accumulateWhile(Character::isDigit);
-            if (fractionPart.isEmpty()) {
-                throw new RuntimeException("Erro: número decimal inválido '" + numberStr + "'");
-            }
-            numberStr += fractionPart;
+    // Testa a janela de windowSize caracteres a partir de i, sem criar substrings:
+    // continua enquanto a janela não terminar nas aspas de fechamento (ou se elas estiverem escapadas)
+    private static boolean continuesString(String source, int limit, int i, String quotes, int windowSize,
+                                           boolean multiline) {
+        int windowEnd = i + windowSize;
+        if (windowEnd >= limit) {
+            return true;
         }
-
-        if (expr.hasNext() && expr.currentCharIsAnyOf('e', 'E')) {
-            numberStr += expr.getCurrentChar();
-            expr.advance();
-
-            if (expr.hasNext() && (expr.currentCharIsAnyOf('+', '-'))) {
-                numberStr += expr.getCurrentChar();
-                expr.advance();
-            }
-
-            String exponentPart = expr.accumulateWhile(Character::isDigit);
-            if (exponentPart.isEmpty()) {
-                throw new RuntimeException("Erro: número científico inválido '" + numberStr + "'");
-            }
-            else {
-                isFloat = false;
-                isScientific = true;
-            }
-            numberStr += exponentPart;
+        if (!multiline && source.charAt(windowEnd - 1) == '\n') {
+            return true;
         }
-
-        if (expr.hasNext() && Character.isLetter(expr.getCurrentChar())) {
-            throw new RuntimeException("Erro: número inválido '" + numberStr + expr.getCurrentChar() + "'");
+        if (windowSize == quotes.length() + 1 && source.charAt(i) == '\\' && source.startsWith(quotes, i + 1)) {
+            return true;
         }
+        return quotes.length() > windowSize || !source.startsWith(quotes, windowEnd - quotes.length());
+    }
 
-        TokenType tokenType;
-        if (isScientific) {
-            tokenType = TokenType.SCIENTIFIC;
-        } else if (isFloat) {
-            tokenType = TokenType.FLOAT;
-        } else {
-            tokenType = TokenType.INTEGER;
+    // Identifica literais numéricos, já calculando o valor durante a leitura
+    private Token readNumber() {
+        if (!numberScanner.scan(expr.getValue(), tokenStart, expr.getLimit() - 1, numberCheck)) {
+            expr.advance(numberScanner.getEnd() - tokenStart);
+            throw lexicalError(numberScanner.getError(), tokenStart);
         }
 
-        return new Token(tokenType, numberStr);
+        int end = numberScanner.getEnd();
+        String lexeme = expr.getValue().substring(tokenStart, end);
+        expr.advance(end - tokenStart);
+
+        return new NumberToken(numberScanner.getType(), lexeme, baseOffset + tokenStart,
+                numberScanner.getLongValue(), numberScanner.getDoubleValue(), numberScanner.getBigValue());
     }
 
     // Identifica identificadores, funções embutidas e palavras reservadas
     private Token readIdentifier() {
-        String text = expr.accumulateWhile(c -> Character.isLetterOrDigit(c) || c == '_');
+        while (expr.skipIdentifier(CHECK_INTERVAL) == CHECK_INTERVAL) {
+            checkBudget(tokenStart);
+        }
+        String text = expr.getValue().substring(tokenStart, expr.getIndex());
 
         TokenType tokenType;
 
@@ -253,38 +485,71 @@ public class PythonLexicalAnalyzer {
             tokenType = TokenType.IDENTIFIER;
         }
 
-        return new Token(tokenType, text);
+        return newToken(tokenType, text);
     }
 
-    // Identifica operadores aritméticos, relacionais, lógicos e de atribuição
-    private Token readOperator() {
-        char firstOpChar = expr.getCurrentChar();
-        char secondOpChar = expr.getNext().orElse('\0');
+    // Identifica operadores pelo casamento mais longo já feito em OperatorTable
+    private Token readOperator(int operator) {
+        expr.advance(OperatorTable.length(operator));
+        return newToken(OperatorTable.type(operator), OperatorTable.lexeme(operator));
+    }
 
-        String doubleOp = "" + firstOpChar + secondOpChar;
+    // Índice de pares de parênteses, colchetes e chaves da última chamada a tokenize()
+    public BracketIndex getBracketIndex() {
+        return brackets;
+    }
 
-        TokenType doubleType = switch (doubleOp) {
-            case String op when Constants.RELATIONAL_OPS.contains(op) -> TokenType.RELATIONAL_OP;
-            case String op when Constants.ASSIGNMENT_OPS.contains(op) -> TokenType.ASSIGNMENT_OP;
-            case String op when Constants.ARITHMETIC_OPS_DOUBLE.contains(op) -> TokenType.ARITHMETIC_OP;
-            default -> null;
-        };
+    // Avisos da última chamada a tokenize(), como parênteses sem par
+    public List<Diagnostic> getDiagnostics() {
+        if (truncation == null) {
+            return brackets.getDiagnostics();
+        }
+        List<Diagnostic> diagnostics = new ArrayList<>(brackets.getDiagnostics());
+        diagnostics.add(truncation);
+        return Collections.unmodifiableList(diagnostics);
+    }
 
-        if (doubleType != null) {
-            expr.advance();
-            expr.advance();
-            return new Token(doubleType, doubleOp);
+    // Retorna a tabela de linhas do código, montada apenas na primeira consulta
+    public LineIndex getLineIndex() {
+        if (lineIndex == null) {
+            // Com limite de caracteres, só a parte lida é indexada
+            lineIndex = expr.isLimited() ? new LineIndex(CharBuffer.wrap(expr.getValue(), 0, expr.getLimit()))
+                    : new LineIndex(expr.getValue());
         }
-        TokenType simpleType = switch (Character.valueOf(firstOpChar)) {
-            case Character op when Constants.ARITHMETIC_OPS_SINGLE.contains(op) -> TokenType.ARITHMETIC_OP;
-            case Character op when Set.of('<', '>').contains(op) -> TokenType.RELATIONAL_OP;
-            case Character op when op.equals('=') -> TokenType.ASSIGNMENT_OP;
-            case Character op when op.equals('!') -> TokenType.LOGICAL_OP;
-            default -> TokenType.ERROR;
-        };
+        return lineIndex;
+    }
 
-        expr.advance();
-        assert simpleType != TokenType.ERROR : "Operador inválido: " + firstOpChar;
-        return new Token(simpleType, String.valueOf(firstOpChar));
+    // Retorna a linha (começando em 1) onde o token começa
+    public int getLine(Token token) {
+        return getLineIndex().line(token.getOffset() - baseOffset) + baseLine;
+    }
+
+    // Retorna a coluna (começando em 1) onde o token começa
+    public int getColumn(Token token) {
+        return getLineIndex().column(token.getOffset() - baseOffset);
+    }
+
+    // Cria o erro léxico acrescentando a linha e a coluna onde ele ocorreu
+    private RuntimeException lexicalError(String message, int offset) {
+        LineIndex lines = getLineIndex();
+        return new RuntimeException(message + " (linha " + (lines.line(offset) + baseLine)
+                + ", coluna " + lines.column(offset) + ")");
+    }
+
+    // Cria um token registrando a posição onde ele começou
+    private Token newToken(TokenType type, String lexeme) {
+        return new Token(type, lexeme, baseOffset + tokenStart);
+    }
+
+    // Interrompe a análise quando o orçamento acaba; não é um erro léxico e não guarda a pilha de chamadas
+    private static final class BudgetExhausted extends RuntimeException {
+        private final int offset;
+
+        private static final long serialVersionUID = 1L;
+
+        BudgetExhausted(String message, int offset) {
+            super(message, null, false, false);
+            this.offset = offset;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,238 @@
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/*
+    Observa uma árvore de código-fonte e reanalisa apenas os arquivos modificados.
+    Os eventos são agrupados até a árvore ficar sem alterações pelo intervalo de debounce,
+    mas nunca esperam mais que o atraso máximo contado a partir do primeiro evento pendente,
+    para que um arquivo salvo continuamente ainda seja reanalisado.
+    O resultado de cada arquivo é trocado de forma atômica no mapa de resultados.
+    Uma exceção no listener é registrada nas métricas e não interrompe a observação.
+ */
+public class SourceWatcher implements AutoCloseable {
+
+    public record FileResult(Path path, List<Token> tokens, String error) {
+    }
+
+    public record Metrics(long updates, double lastLatencyMillis, double averageLatencyMillis,
+                          double maxLatencyMillis, long listenerFailures) {
+    }
+
+    private final Path root;
+    private final Predicate<Path> filter;
+    private final long debounceMillis;
+    private final long maxDelayMillis;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+    private final Map<Path, FileResult> results = new ConcurrentHashMap<>();
+
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong lastLatencyNanos = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private final AtomicLong listenerFailures = new AtomicLong();
+    private volatile RuntimeException lastListenerFailure;
+
+    private Consumer<FileResult> listener = result -> { };
+    private Thread thread;
+
+    public SourceWatcher(Path root, Predicate<Path> filter, long debounceMillis, long maxDelayMillis)
+            throws IOException {
+        this.root = root.toAbsolutePath();
+        this.filter = filter;
+        this.debounceMillis = debounceMillis;
+        this.maxDelayMillis = Math.max(debounceMillis, maxDelayMillis);
+        this.watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    // Atraso máximo padrão de 10 intervalos de debounce
+    public SourceWatcher(Path root, Predicate<Path> filter, long debounceMillis) throws IOException {
+        this(root, filter, debounceMillis, debounceMillis * 10);
+    }
+
+    // Observa apenas arquivos .py
+    public SourceWatcher(Path root, long debounceMillis) throws IOException {
+        this(root, path -> path.toString().endsWith(".py"), debounceMillis);
+    }
+
+    // Define quem é avisado a cada arquivo reanalisado
+    public void setListener(Consumer<FileResult> listener) {
+        this.listener = listener;
+    }
+
+    // Analisa a árvore inteira uma vez e passa a observar as alterações em uma thread separada
+    public void start() throws IOException {
+        registerTree(root);
+        thread = new Thread(this::watchLoop, "source-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public Map<Path, FileResult> getResults() {
+        return Collections.unmodifiableMap(results);
+    }
+
+    public FileResult getResult(Path path) {
+        return results.get(path.toAbsolutePath());
+    }
+
+    public Metrics getMetrics() {
+        long count = updates.get();
+        return new Metrics(
+                count,
+                lastLatencyNanos.get() / 1e6,
+                count == 0 ? 0 : totalLatencyNanos.get() / 1e6 / count,
+                maxLatencyNanos.get() / 1e6,
+                listenerFailures.get()
+        );
+    }
+
+    // Última exceção lançada pelo listener, ou null se ele nunca falhou
+    public RuntimeException getLastListenerFailure() {
+        return lastListenerFailure;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    // Registra os diretórios e analisa os arquivos já existentes
+    private void registerTree(Path start) throws IOException {
+        try (Stream<Path> paths = Files.walk(start)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (Files.isDirectory(path)) {
+                    WatchKey key = path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                    directories.put(key, path);
+                } else if (filter.test(path)) {
+                    analyze(path, OptionalLong.empty());
+                }
+            }
+        }
+    }
+
+    private void watchLoop() {
+        // Arquivos pendentes e o instante do primeiro evento de cada um, usado na latência
+        Map<Path, Long> pending = new LinkedHashMap<>();
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key;
+                if (pending.isEmpty()) {
+                    key = watchService.take();
+                } else {
+                    // O primeiro arquivo inserido tem o evento mais antigo
+                    long waited = System.nanoTime() - pending.values().iterator().next();
+                    long wait = Math.min(TimeUnit.MILLISECONDS.toNanos(debounceMillis),
+                            TimeUnit.MILLISECONDS.toNanos(maxDelayMillis) - waited);
+                    key = wait > 0 ? watchService.poll(wait, TimeUnit.NANOSECONDS) : null;
+                }
+
+                if (key == null) {
+                    for (Map.Entry<Path, Long> entry : pending.entrySet()) {
+                        analyze(entry.getKey(), OptionalLong.of(entry.getValue()));
+                    }
+                    pending.clear();
+                    continue;
+                }
+
+                collectEvents(key, pending);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Converte os eventos de um diretório em arquivos pendentes de reanálise
+    private void collectEvents(WatchKey key, Map<Path, Long> pending) {
+        long now = System.nanoTime();
+        Path directory = directories.get(key);
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                for (Path path : results.keySet()) {
+                    pending.putIfAbsent(path, now);
+                }
+                continue;
+            }
+
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    registerTree(path);
+                } catch (IOException e) {
+                    System.err.println("Erro ao observar diretório " + path + ": " + e.getMessage());
+                }
+            } else if (filter.test(path)) {
+                pending.putIfAbsent(path, now);
+            }
+        }
+
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+    }
+
+    // Reanalisa um arquivo e substitui o resultado anterior
+    // (a análise inicial, sem instante de evento, não entra nas métricas)
+    private void analyze(Path path, OptionalLong eventNanos) {
+        FileResult result;
+        try {
+            List<Token> tokens = AnalyzerPool.tokenize(path);
+            result = new FileResult(path, Collections.unmodifiableList(tokens), null);
+        } catch (NoSuchFileException | FileNotFoundException e) {
+            results.remove(path);
+            return;
+        } catch (IOException | RuntimeException e) {
+            result = new FileResult(path, List.of(), e.getMessage());
+        }
+
+        results.put(path, result);
+        if (eventNanos.isPresent()) {
+            recordLatency(System.nanoTime() - eventNanos.getAsLong());
+        }
+        notifyListener(result);
+    }
+
+    // Avisa o listener; uma falha dele é registrada e a observação continua com o próximo resultado
+    private void notifyListener(FileResult result) {
+        try {
+            listener.accept(result);
+        } catch (RuntimeException e) {
+            listenerFailures.incrementAndGet();
+            lastListenerFailure = e;
+            System.err.println("Erro no listener ao processar " + result.path() + ": " + e);
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        updates.incrementAndGet();
+        lastLatencyNanos.set(nanos);
+        totalLatencyNanos.addAndGet(nanos);
+        maxLatencyNanos.accumulateAndGet(nanos, Math::max);
+    }
+}
@@ -2,10 +2,16 @@ public class Token {
 
     private final TokenType type;
     private final String lexeme;
+    private final int offset;
 
     public Token(TokenType type, String lexeme) {
+        this(type, lexeme, -1);
+    }
+
+    public Token(TokenType type, String lexeme, int offset) {
         this.type = type;
         this.lexeme = lexeme;
+        this.offset = offset;
     }
 
     public TokenType getType() {
@@ -16,6 +22,11 @@ public class Token {
         return lexeme;
     }
 
+    // Posição (em caracteres) do início do token no código-fonte, ou -1 se desconhecida
+    public int getOffset() {
+        return offset;
+    }
+
     @Override
     public String toString() {
         
@@ -0,0 +1,241 @@
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/*
+    Armazena tokens fora do heap, em segmentos de memória da API FFM (java.lang.foreign).
+    Cada token ocupa 16 bytes: tipo, posição, tamanho do lexema e id do lexema internado.
+    Os segmentos são blocos de tamanho fixo, alocados em uma Arena ou mapeados de um arquivo,
+    então crescer o armazenamento nunca copia os tokens já gravados.
+    Os lexemas também ficam fora do heap, em UTF-8, em blocos da mesma Arena; no heap resta só um
+    cache limitado dos lexemas mais usados para reaproveitar ids, e os objetos Token são criados sob demanda.
+    As escritas (add) não são thread-safe; depois delas, as leituras podem ser feitas de várias threads.
+ */
+public class TokenStore implements Iterable<Token>, AutoCloseable {
+
+    private static final int RECORD_INTS = 4;
+    private static final long RECORD_BYTES = RECORD_INTS * Integer.BYTES;
+    private static final int CHUNK_SHIFT = 16;
+    private static final int CHUNK_TOKENS = 1 << CHUNK_SHIFT;
+    private static final long CHUNK_BYTES = CHUNK_TOKENS * RECORD_BYTES;
+
+    private static final TokenType[] TYPES = TokenType.values();
+
+    // Blocos de bytes dos lexemas e a tabela id -> (posição, tamanho em bytes) de cada um
+    private static final long LEXEME_CHUNK_BYTES = 1 << 20;
+    private static final int LEXEME_ENTRY_SHIFT = 16;
+    private static final int LEXEME_ENTRIES = 1 << LEXEME_ENTRY_SHIFT;
+    private static final long LEXEME_ENTRY_BYTES = 2 * Long.BYTES;
+
+    // Só lexemas curtos são internados, e o cache guarda no máximo INTERN_CAPACITY deles
+    private static final int INTERN_CAPACITY = 4096;
+    private static final int MAX_INTERNED_LENGTH = 64;
+
+    private final Arena arena;
+    private final FileChannel channel;
+    private final List<MemorySegment> chunks = new ArrayList<>();
+    private final List<MemorySegment> lexemeChunks = new ArrayList<>();
+    private final List<MemorySegment> lexemeEntries = new ArrayList<>();
+    private final Map<String, Integer> lexemeIds = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > INTERN_CAPACITY;
+        }
+    };
+    private long size;
+    private int lexemeCount;
+    private long lexemeChunkUsed;
+
+    private TokenStore(Arena arena, FileChannel channel) {
+        this.arena = arena;
+        this.channel = channel;
+    }
+
+    // Armazenamento em memória nativa, liberada no close()
+    public static TokenStore offHeap() {
+        return new TokenStore(Arena.ofShared(), null);
+    }
+
+    // Armazenamento mapeado de um arquivo, que cresce conforme os tokens são adicionados
+    public static TokenStore mapped(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new TokenStore(Arena.ofShared(), channel);
+    }
+
+    public void add(Token token) {
+        int chunk = (int) (size >>> CHUNK_SHIFT);
+        if (chunk == chunks.size()) {
+            chunks.add(allocateChunk(chunk));
+        }
+
+        long base = (size & (CHUNK_TOKENS - 1)) * RECORD_BYTES;
+        MemorySegment segment = chunks.get(chunk);
+        segment.set(ValueLayout.JAVA_INT, base, token.getType().ordinal());
+        segment.set(ValueLayout.JAVA_INT, base + 4, token.getOffset());
+        segment.set(ValueLayout.JAVA_INT, base + 8, token.getLexeme().length());
+        segment.set(ValueLayout.JAVA_INT, base + 12, intern(token.getLexeme()));
+        size++;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public TokenType getType(long index) {
+        return TYPES[field(index, 0)];
+    }
+
+    public int getOffset(long index) {
+        return field(index, 1);
+    }
+
+    public int getLength(long index) {
+        return field(index, 2);
+    }
+
+    public int getLexemeId(long index) {
+        return field(index, 3);
+    }
+
+    // Decodifica o lexema gravado fora do heap
+    public String getLexeme(int lexemeId) {
+        if (lexemeId < 0 || lexemeId >= lexemeCount) {
+            throw new IndexOutOfBoundsException("Lexema " + lexemeId + " fora do intervalo 0.." + (lexemeCount - 1));
+        }
+        MemorySegment entries = lexemeEntries.get(lexemeId >>> LEXEME_ENTRY_SHIFT);
+        long base = (lexemeId & (LEXEME_ENTRIES - 1)) * LEXEME_ENTRY_BYTES;
+        long location = entries.get(ValueLayout.JAVA_LONG, base);
+        long length = entries.get(ValueLayout.JAVA_LONG, base + Long.BYTES);
+
+        MemorySegment bytes = lexemeChunks.get((int) (location >>> 32)).asSlice(location & 0xFFFF_FFFFL, length);
+        return new String(bytes.toArray(ValueLayout.JAVA_BYTE), StandardCharsets.UTF_8);
+    }
+
+    // Quantidade de lexemas gravados; repetições fora do cache de internação ganham um id novo
+    public int getLexemeCount() {
+        return lexemeCount;
+    }
+
+    // Cria o Token da posição informada; números voltam a ter o valor decodificado
+    public Token get(long index) {
+        TokenType type = getType(index);
+        String lexeme = getLexeme(getLexemeId(index));
+        int offset = getOffset(index);
+
+        // Um NumberScanner por chamada, para que leituras em threads diferentes não compartilhem estado
+        NumberScanner numberScanner = new NumberScanner();
+        if (isNumber(type) && numberScanner.scan(lexeme, 0)) {
+            return new NumberToken(type, lexeme, offset, numberScanner.getLongValue(),
+                    numberScanner.getDoubleValue(), numberScanner.getBigValue());
+        }
+        return new Token(type, lexeme, offset);
+    }
+
+    @Override
+    public Iterator<Token> iterator() {
+        return new Iterator<>() {
+            private long next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public Token next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        arena.close();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private int field(long index, int field) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Token " + index + " fora do intervalo 0.." + (size - 1));
+        }
+        long base = (index & (CHUNK_TOKENS - 1)) * RECORD_BYTES + (long) field * Integer.BYTES;
+        return chunks.get((int) (index >>> CHUNK_SHIFT)).get(ValueLayout.JAVA_INT, base);
+    }
+
+    private MemorySegment allocateChunk(int chunk) {
+        if (channel == null) {
+            return arena.allocate(CHUNK_BYTES, Integer.BYTES);
+        }
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, chunk * CHUNK_BYTES, CHUNK_BYTES, arena);
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao mapear armazenamento de tokens", e);
+        }
+    }
+
+    private int intern(String lexeme) {
+        if (lexeme.length() > MAX_INTERNED_LENGTH) {
+            return storeLexeme(lexeme);
+        }
+        Integer id = lexemeIds.get(lexeme);
+        if (id == null) {
+            id = storeLexeme(lexeme);
+            lexemeIds.put(lexeme, id);
+        }
+        return id;
+    }
+
+    // Copia os bytes do lexema para o bloco atual e grava a entrada id -> (bloco, posição, tamanho)
+    private int storeLexeme(String lexeme) {
+        byte[] bytes = lexeme.getBytes(StandardCharsets.UTF_8);
+        long position;
+        if (bytes.length > LEXEME_CHUNK_BYTES) {
+            // Lexemas maiores que um bloco, como strings enormes, ganham um segmento só para eles
+            lexemeChunks.add(arena.allocate(bytes.length));
+            lexemeChunkUsed = LEXEME_CHUNK_BYTES;
+            position = 0;
+        } else {
+            if (lexemeChunks.isEmpty() || lexemeChunkUsed + bytes.length > LEXEME_CHUNK_BYTES) {
+                lexemeChunks.add(arena.allocate(LEXEME_CHUNK_BYTES));
+                lexemeChunkUsed = 0;
+            }
+            position = lexemeChunkUsed;
+            lexemeChunkUsed += bytes.length;
+        }
+        int chunk = lexemeChunks.size() - 1;
+        MemorySegment.copy(bytes, 0, lexemeChunks.get(chunk), ValueLayout.JAVA_BYTE, position, bytes.length);
+
+        int id = lexemeCount;
+        if ((id & (LEXEME_ENTRIES - 1)) == 0) {
+            lexemeEntries.add(arena.allocate(LEXEME_ENTRIES * LEXEME_ENTRY_BYTES, Long.BYTES));
+        }
+        long base = (id & (LEXEME_ENTRIES - 1)) * LEXEME_ENTRY_BYTES;
+        MemorySegment entries = lexemeEntries.get(id >>> LEXEME_ENTRY_SHIFT);
+        entries.set(ValueLayout.JAVA_LONG, base, (long) chunk << 32 | position);
+        entries.set(ValueLayout.JAVA_LONG, base + Long.BYTES, bytes.length);
+        lexemeCount++;
+        return id;
+    }
+
+    private static boolean isNumber(TokenType type) {
+        return type == TokenType.INTEGER || type == TokenType.FLOAT
+                || type == TokenType.SCIENTIFIC || type == TokenType.IMAGINARY;
+    }
+}
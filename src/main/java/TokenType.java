@@ -2,6 +2,7 @@ public enum TokenType {
     INTEGER("Número Inteiro"),
     FLOAT("Número Float"),
     SCIENTIFIC("Número Científico"),
+    IMAGINARY("Número Imaginário"),
     STRING("String"),
     BOOLEAN("Literal Booleano"),
     NONE("Literal None"),
@@ -11,7 +12,9 @@ public enum TokenType {
     ARITHMETIC_OP("Operador Aritmético"),
     RELATIONAL_OP("Operador Relacional"),
     LOGICAL_OP("Operador Lógico"),
+    BITWISE_OP("Operador Bit a Bit"),
     ASSIGNMENT_OP("Operador de Atribuição"),
+    ARROW("Seta de Retorno"),
     LEFT_PARENTHESIS("Parêntese Esquerdo"),
     RIGHT_PARENTHESIS("Parêntese Direito"),
     LEFT_BRACKET("Colchete Esquerdo"),
@@ -0,0 +1,54 @@
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+    Implementação de BulkScanner com a API jdk.incubator.vector, usada só para o restante de uma
+    linha de comentário: compara de 8 a 32 caracteres por vez (conforme o tamanho de vetor da máquina)
+    procurando a quebra de linha. Espaços e identificadores costumam ser curtos demais para compensar
+    e continuam na implementação escalar.
+    A API só lê char[], então o código é copiado aos poucos para um buffer pequeno e reaproveitado,
+    em janelas que dobram de tamanho; nenhuma referência ao código analisado fica guardada.
+    Só é carregada por BulkScanner.create(), com o módulo disponível.
+ */
+public class VectorBulkScanner extends BulkScanner {
+
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+    // Comentários curtos terminam antes de compensar a cópia para o buffer
+    private static final int SCALAR_PREFIX = 8;
+    private static final int FIRST_WINDOW = 64;
+    private static final int MAX_WINDOW = 4096;
+
+    private final char[] window = new char[MAX_WINDOW];
+
+    @Override
+    public int skipToLineEnd(String source, int from, int limit) {
+        int i = from;
+        int prefixEnd = Math.min(limit, from + SCALAR_PREFIX);
+        while (i < prefixEnd && !isLineEnd(source.charAt(i))) {
+            i++;
+        }
+        if (i < prefixEnd) {
+            return i;
+        }
+
+        int size = FIRST_WINDOW;
+        while (limit - i >= SPECIES.length()) {
+            int length = Math.min(size, limit - i);
+            source.getChars(i, i + length, window, 0);
+
+            int upper = SPECIES.loopBound(length);
+            for (int j = 0; j < upper; j += SPECIES.length()) {
+                ShortVector v = ShortVector.fromCharArray(SPECIES, window, j);
+                VectorMask<Short> end = v.eq((short) '\n').or(v.eq((short) '\r'));
+                if (end.anyTrue()) {
+                    return i + j + end.firstTrue();
+                }
+            }
+            i += upper;
+            size = Math.min(size * 2, MAX_WINDOW);
+        }
+        return super.skipToLineEnd(source, i, limit);
+    }
+}
@@ -0,0 +1,224 @@
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Unit tests for ArchiveLexer
+ */
+public class ArchiveLexerTest {
+
+    private static final String LONG_NAME = "pacote/" + "modulo_com_nome_longo/".repeat(8) + "arquivo.py";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path zip(String name, String... entries) throws IOException {
+        Path path = folder.getRoot().toPath().resolve(name);
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(path))) {
+            for (int i = 0; i < entries.length; i += 2) {
+                out.putNextEntry(new ZipEntry(entries[i]));
+                out.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return path;
+    }
+
+    private static List<ArchiveLexer.EntryResult> sorted(List<ArchiveLexer.EntryResult> results) {
+        List<ArchiveLexer.EntryResult> copy = new ArrayList<>(results);
+        copy.sort(Comparator.comparing(ArchiveLexer.EntryResult::name));
+        return copy;
+    }
+
+    // Test zip archives
+
+    @Test
+    public void testZipEntries() throws Exception {
+        Path archive = zip("codigo.zip",
+                "a.py", "x = 1\nprint(x)",
+                "notas.txt", "não é python $",
+                "quebrado.py", "x $ y",
+                LONG_NAME, "y = 2");
+
+        List<ArchiveLexer.EntryResult> results = new ArrayList<>();
+        ArchiveLexer.Summary summary = new ArchiveLexer(2).process(archive, results::add);
+
+        assertEquals(3, summary.entries());
+        assertEquals(1, summary.failed());
+        assertEquals(10, summary.tokens());
+
+        List<ArchiveLexer.EntryResult> byName = sorted(results);
+        assertEquals("a.py", byName.get(0).name());
+        assertEquals(7, byName.get(0).tokenCount());
+        assertNull(byName.get(0).error());
+        assertEquals(LONG_NAME, byName.get(1).name());
+        assertEquals(3, byName.get(1).tokenCount());
+        assertEquals("quebrado.py", byName.get(2).name());
+        assertTrue(byName.get(2).error().contains("símbolo inválido"));
+    }
+
+    // Test tar.gz archives
+
+    @Test
+    public void testTarGzEntries() throws Exception {
+        TarBuilder tar = new TarBuilder();
+        tar.file("a.py", "x = 1\nprint(x)", false);
+        tar.gnuLongName(LONG_NAME, "y = 2");
+        tar.paxPath("pax/" + "caminho_longo/".repeat(10) + "b.py", "z = y");
+        tar.ustarPrefix("prefixo/" + "diretorio/".repeat(12), "c.py", "w = 3");
+        tar.file("tamanho_base256.py", "v = 4", true);
+        tar.file("quebrado.py", "x $ y", false);
+        tar.file("leia-me.txt", "texto", false);
+        Path archive = tar.write(folder.getRoot().toPath().resolve("codigo.tar.gz"));
+
+        List<ArchiveLexer.EntryResult> results = new ArrayList<>();
+        ArchiveLexer.Summary summary = new ArchiveLexer(3).process(archive, results::add);
+
+        assertEquals(6, summary.entries());
+        assertEquals(1, summary.failed());
+        assertEquals(7 + 3 * 4, summary.tokens());
+
+        List<String> names = sorted(results).stream().map(ArchiveLexer.EntryResult::name).toList();
+        assertEquals(List.of("a.py", "pacote/" + "modulo_com_nome_longo/".repeat(8) + "arquivo.py",
+                "pax/" + "caminho_longo/".repeat(10) + "b.py", "prefixo/" + "diretorio/".repeat(12) + "c.py",
+                "quebrado.py", "tamanho_base256.py"), names);
+    }
+
+    @Test
+    public void testOversizedEntryIsReportedAsFailure() throws Exception {
+        TarBuilder tar = new TarBuilder();
+        tar.file("grande.py", "x = 1 + 2 + 3 + 4 + 5", false);
+        tar.file("pequeno.py", "x = 1", false);
+        Path tarArchive = tar.write(folder.getRoot().toPath().resolve("codigo.tgz"));
+        Path zipArchive = zip("codigo.zip", "grande.py", "x = 1 + 2 + 3 + 4 + 5", "pequeno.py", "x = 1");
+
+        for (Path archive : List.of(tarArchive, zipArchive)) {
+            List<ArchiveLexer.EntryResult> results = new ArrayList<>();
+            ArchiveLexer.Summary summary = new ArchiveLexer(1, name -> name.endsWith(".py"), 10)
+                    .process(archive, results::add);
+
+            assertEquals(2, summary.entries());
+            assertEquals(1, summary.failed());
+            assertEquals(3, summary.tokens());
+            assertTrue(sorted(results).get(0).error().contains("limite"));
+        }
+    }
+
+    // Test failures in the analysis threads
+
+    @Test(timeout = 30_000)
+    public void testReporterFailureIsRethrown() throws Exception {
+        String[] entries = new String[40];
+        for (int i = 0; i < 20; i++) {
+            entries[i * 2] = "arquivo" + i + ".py";
+            entries[i * 2 + 1] = "x = " + i;
+        }
+        Path archive = zip("codigo.zip", entries);
+
+        try {
+            new ArchiveLexer(1).process(archive, result -> {
+                throw new IllegalStateException("falha no reporter");
+            });
+            fail("Should rethrow the reporter failure");
+        } catch (IllegalStateException e) {
+            assertEquals("falha no reporter", e.getMessage());
+        }
+    }
+
+    /**
+     * Helper building tar.gz fixtures with ustar headers, GNU long names, pax paths and base-256 sizes
+     */
+    private static final class TarBuilder {
+        private final ByteArrayOutputStream tar = new ByteArrayOutputStream();
+
+        void file(String name, String content, boolean base256Size) throws IOException {
+            byte[] data = content.getBytes(StandardCharsets.UTF_8);
+            entry(header(name, "", data.length, '0', base256Size), data);
+        }
+
+        void gnuLongName(String name, String content) throws IOException {
+            byte[] longName = (name + "\0").getBytes(StandardCharsets.UTF_8);
+            entry(header("././@LongLink", "", longName.length, 'L', false), longName);
+            file(name.substring(0, 99), content, false);
+        }
+
+        void paxPath(String path, String content) throws IOException {
+            // The record length includes its own digits
+            String record = " path=" + path + "\n";
+            int length = record.length() + 1;
+            while (Integer.toString(length).length() + record.length() != length) {
+                length++;
+            }
+            byte[] pax = (length + record).getBytes(StandardCharsets.UTF_8);
+            entry(header("PaxHeaders/arquivo", "", pax.length, 'x', false), pax);
+            file("truncado.py", content, false);
+        }
+
+        void ustarPrefix(String prefix, String name, String content) throws IOException {
+            byte[] data = content.getBytes(StandardCharsets.UTF_8);
+            entry(header(name, prefix.substring(0, prefix.length() - 1), data.length, '0', false), data);
+        }
+
+        Path write(Path target) throws IOException {
+            tar.write(new byte[1024]);
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(target))) {
+                tar.writeTo(out);
+            }
+            return target;
+        }
+
+        private void entry(byte[] header, byte[] data) throws IOException {
+            tar.write(header);
+            tar.write(data);
+            tar.write(new byte[(512 - data.length % 512) % 512]);
+        }
+
+        private static byte[] header(String name, String prefix, long size, char type, boolean base256Size) {
+            byte[] header = new byte[512];
+            put(header, 0, name);
+            put(header, 100, "0000644");
+            put(header, 108, "0000000");
+            put(header, 116, "0000000");
+            if (base256Size) {
+                header[124] = (byte) 0x80;
+                for (int i = 135; i > 124; i--, size >>>= 8) {
+                    header[i] = (byte) size;
+                }
+            } else {
+                put(header, 124, String.format("%011o", size));
+            }
+            put(header, 136, "00000000000");
+            header[156] = (byte) type;
+            put(header, 257, "ustar");
+            put(header, 263, "00");
+            put(header, 345, prefix);
+
+            Arrays.fill(header, 148, 156, (byte) ' ');
+            int checksum = 0;
+            for (byte b : header) {
+                checksum += b & 0xFF;
+            }
+            put(header, 148, String.format("%06o", checksum));
+            return header;
+        }
+
+        private static void put(byte[] header, int offset, String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(bytes, 0, header, offset, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+import java.util.List;
+
+/**
+ * Micro-benchmark comparing the scalar BulkScanner with the vectorized one on whitespace,
+ * comment and identifier runs, plus a full tokenization with the current configuration.
+ *
+ * Run with: java --add-modules jdk.incubator.vector -Dlexer.vector=true
+ *               -cp target/classes:target/test-classes BulkScanBenchmark
+ */
+public class BulkScanBenchmark {
+
+    private static final String SOURCE = new PythonCorpusGenerator(42, PythonCorpusGenerator.Mix.BALANCED)
+            .generate(4 * 1024 * 1024);
+
+    private interface Scan {
+        int run(BulkScanner scanner, String source, int from, int limit);
+    }
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        BulkScanner scalar = new BulkScanner();
+        BulkScanner configured = BulkScanner.create();
+
+        System.out.printf("Entrada: %d caracteres, scanner configurado: %s%n",
+                SOURCE.length(), configured.getClass().getSimpleName());
+        if (configured.getClass() == BulkScanner.class) {
+            System.out.println("Varredura vetorial desativada; use -D" + BulkScanner.VECTOR_PROPERTY
+                    + "=true e --add-modules jdk.incubator.vector");
+        }
+
+        compare("Espaços", scalar, configured, rounds, BulkScanner::skipWhitespace);
+        compare("Comentários", scalar, configured, rounds, BulkScanner::skipToLineEnd);
+        compare("Identificadores", scalar, configured, rounds, BulkScanner::skipIdentifier);
+
+        long best = Long.MAX_VALUE;
+        int count = 0;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            List<Token> tokens = new PythonLexicalAnalyzer(SOURCE).tokenize();
+            best = Math.min(best, System.nanoTime() - start);
+            count = tokens.size();
+        }
+        System.out.printf("Análise completa: %.2f ms (%d tokens)%n", best / 1e6, count);
+    }
+
+    private static void compare(String name, BulkScanner scalar, BulkScanner configured, int rounds, Scan scan) {
+        long checksum = 0;
+        for (int warmup = 0; warmup < 5; warmup++) {
+            checksum += sweep(scalar, scan) + sweep(configured, scan);
+        }
+
+        long scalarTime = Long.MAX_VALUE;
+        long configuredTime = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            checksum += sweep(scalar, scan);
+            scalarTime = Math.min(scalarTime, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            checksum += sweep(configured, scan);
+            configuredTime = Math.min(configuredTime, System.nanoTime() - start);
+        }
+
+        System.out.printf("%-16s escalar %.2f ms, configurado %.2f ms (%.1fx)  checksum %d%n", name,
+                scalarTime / 1e6, configuredTime / 1e6, (double) scalarTime / configuredTime, checksum);
+    }
+
+    // Aplica a varredura a partir de cada posição em que ela pode começar, avançando além da sequência encontrada
+    private static long sweep(BulkScanner scanner, Scan scan) {
+        long total = 0;
+        int i = 0;
+        int limit = SOURCE.length();
+        while (i < limit) {
+            int end = scan.run(scanner, SOURCE, i, limit);
+            total += end - i;
+            i = end + 1;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,49 @@
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Unit tests for IdentifierIndex and MappedIdentifierIndex
+ */
+public class IdentifierIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path writeFile(String name, String code) throws Exception {
+        Path path = folder.getRoot().toPath().resolve(name);
+        Files.writeString(path, code);
+        return path;
+    }
+
+    @Test
+    public void testLookupInMemoryAndMapped() throws Exception {
+        Path first = writeFile("a.py", "x = 1\nprint(x)");
+        Path second = writeFile("b.py", "y = x + 2");
+        Path broken = writeFile("c.py", "x $ y");
+
+        IdentifierIndex index = IdentifierIndex.build(List.of(first, second, broken), 2);
+        Path indexFile = folder.getRoot().toPath().resolve("index.bin");
+        index.write(indexFile);
+        MappedIdentifierIndex mapped = MappedIdentifierIndex.open(indexFile);
+
+        List<IdentifierIndex.Posting> expected = List.of(
+                new IdentifierIndex.Posting(0, 0),
+                new IdentifierIndex.Posting(0, 12),
+                new IdentifierIndex.Posting(1, 4)
+        );
+        assertEquals(expected, index.lookup("x"));
+        assertEquals(expected, mapped.lookup("x"));
+
+        assertEquals(List.of(new IdentifierIndex.Posting(0, 6)), mapped.lookup("print"));
+        assertTrue("Reserved words should not be indexed", mapped.lookup("if").isEmpty());
+        assertTrue("Unknown terms should have no postings", mapped.lookup("missing").isEmpty());
+
+        assertEquals(3, mapped.getFiles().size());
+        assertTrue("Files with lexical errors should be reported", index.getErrors().containsKey(2));
+    }
+}
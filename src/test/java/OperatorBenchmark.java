@@ -0,0 +1,87 @@
+import java.util.Set;
+
+/**
+ * Micro-benchmark comparing the previous String/Set based operator recognition
+ * with OperatorTable on operator-dense numeric code.
+ *
+ * Run with: java -cp target/classes:target/test-classes OperatorBenchmark
+ */
+public class OperatorBenchmark {
+
+    // Conjuntos de Constants usados por readOperator antes do OperatorTable, copiados aqui sem alterações
+    private static final Set<Character> SIMPLE_OPERATORS = Set.of('+', '-', '*', '/', '%', '=', '<', '>', '!');
+    private static final Set<String> RELATIONAL_OPS = Set.of("==", "!=", "<=", ">=");
+    private static final Set<String> ASSIGNMENT_OPS = Set.of("+=", "-=", "*=", "/=");
+    private static final Set<String> ARITHMETIC_OPS_DOUBLE = Set.of("//", "**");
+    private static final Set<Character> ARITHMETIC_OPS_SINGLE = Set.of('*', '/', '+', '-', '%');
+
+    private static final String LINE = "x = (a**2 + b*c - d//e) % f <= g != h >= i == j / k * l - m + n\n";
+
+    public static void main(String[] args) {
+        String source = LINE.repeat(20_000);
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+
+        long checksum = 0;
+        for (int warmup = 0; warmup < 5; warmup++) {
+            checksum += scanLegacy(source) + scanTable(source);
+        }
+
+        long legacy = Long.MAX_VALUE;
+        long table = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            long start = System.nanoTime();
+            checksum += scanLegacy(source);
+            legacy = Math.min(legacy, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            checksum += scanTable(source);
+            table = Math.min(table, System.nanoTime() - start);
+        }
+
+        System.out.printf("Entrada: %d caracteres%n", source.length());
+        System.out.printf("Reconhecimento anterior: %.2f ms%n", legacy / 1e6);
+        System.out.printf("OperatorTable:           %.2f ms (%.1fx)%n", table / 1e6, (double) legacy / table);
+        System.out.println("checksum " + checksum);
+    }
+
+    // Reproduz a lógica anterior de readOperator: String de dois caracteres e consultas em Set
+    private static long scanLegacy(String source) {
+        long count = 0;
+        int i = 0;
+        while (i < source.length() - 1) {
+            char first = source.charAt(i);
+            if (!SIMPLE_OPERATORS.contains(first)) {
+                i++;
+                continue;
+            }
+            String doubleOp = "" + first + source.charAt(i + 1);
+            if (RELATIONAL_OPS.contains(doubleOp)
+                    || ASSIGNMENT_OPS.contains(doubleOp)
+                    || ARITHMETIC_OPS_DOUBLE.contains(doubleOp)) {
+                count += doubleOp.hashCode();
+                i += 2;
+                continue;
+            }
+            if (ARITHMETIC_OPS_SINGLE.contains(first) || Set.of('<', '>').contains(first)) {
+                count += String.valueOf(first).hashCode();
+            }
+            i++;
+        }
+        return count;
+    }
+
+    private static long scanTable(String source) {
+        long count = 0;
+        int i = 0;
+        while (i < source.length() - 1) {
+            int operator = OperatorTable.match(source, i);
+            if (operator == OperatorTable.NO_MATCH) {
+                i++;
+                continue;
+            }
+            count += OperatorTable.lexeme(operator).hashCode();
+            i += OperatorTable.length(operator);
+        }
+        return count;
+    }
+}
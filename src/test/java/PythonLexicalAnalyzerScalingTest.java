@@ -0,0 +1,113 @@
+import org.junit.Assume;
+import org.junit.Test;
+import static org.junit.Assert.*;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Scaling tests for PythonLexicalAnalyzer on synthetic corpora.
+ * Input grows 8x between the small and large runs; linear behaviour gives a ratio near 8,
+ * while a quadratic regression gives a ratio near 64.
+ * The strict wall-clock test is noisy under GC and CPU contention, so it only runs with -Dlexer.timingTests=true;
+ * a loose wall-clock bound, which still catches quadratic growth, and the allocation test always run.
+ */
+public class PythonLexicalAnalyzerScalingTest {
+
+    private static final int SMALL_SIZE = 256 * 1024;
+    private static final int GROWTH = 8;
+    private static final double MAX_RATIO = GROWTH * 3.0;
+    private static final double MAX_LOOSE_RATIO = GROWTH * 5.0;
+    private static final int LOOSE_ATTEMPTS = 3;
+    private static final long SEED = 2024;
+    private static final String TIMING_PROPERTY = "lexer.timingTests";
+
+    private static String corpus(PythonCorpusGenerator.Mix mix, int size) {
+        return new PythonCorpusGenerator(SEED, mix).generate(size);
+    }
+
+    /**
+     * Helper method returning the best of several runs, to reduce JIT and GC noise
+     */
+    private static long bestTimeNanos(String code) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 5; run++) {
+            long start = System.nanoTime();
+            new PythonLexicalAnalyzer(code).tokenize();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    /**
+     * Helper method returning how much longer the large corpus takes than the small one
+     */
+    private static double timeRatio(PythonCorpusGenerator.Mix mix) {
+        String small = corpus(mix, SMALL_SIZE);
+        String large = corpus(mix, SMALL_SIZE * GROWTH);
+        bestTimeNanos(small);
+        return (double) bestTimeNanos(large) / bestTimeNanos(small);
+    }
+
+    @Test
+    public void testGeneratorIsDeterministicAndLexable() {
+        for (PythonCorpusGenerator.Mix mix : PythonCorpusGenerator.Mix.values()) {
+            String code = corpus(mix, 16 * 1024);
+            assertEquals("Same seed should produce the same corpus", code, corpus(mix, 16 * 1024));
+
+            PythonLexicalAnalyzer.checkIndentation(code);
+            PythonLexicalAnalyzer analyzer = new PythonLexicalAnalyzer(code);
+            List<Token> tokens = analyzer.tokenize();
+            assertFalse(tokens.isEmpty());
+            assertTrue("Generated code should have balanced brackets", analyzer.getDiagnostics().isEmpty());
+        }
+    }
+
+    @Test
+    public void testTimeGrowsLinearly() {
+        Assume.assumeTrue("Timing tests are disabled; run with -D" + TIMING_PROPERTY + "=true",
+                Boolean.getBoolean(TIMING_PROPERTY));
+        for (PythonCorpusGenerator.Mix mix : PythonCorpusGenerator.Mix.values()) {
+            double ratio = timeRatio(mix);
+            assertTrue("Time ratio for " + mix + " should be close to linear, was " + ratio, ratio < MAX_RATIO);
+        }
+    }
+
+    @Test
+    public void testTimeIsNotQuadratic() {
+        for (PythonCorpusGenerator.Mix mix : PythonCorpusGenerator.Mix.values()) {
+            // A noisy run is retried; a quadratic lexer stays near 64 on every attempt
+            double ratio = timeRatio(mix);
+            for (int attempt = 1; attempt < LOOSE_ATTEMPTS && ratio >= MAX_LOOSE_RATIO; attempt++) {
+                ratio = Math.min(ratio, timeRatio(mix));
+            }
+            assertTrue("Time ratio for " + mix + " should stay far from quadratic, was " + ratio,
+                    ratio < MAX_LOOSE_RATIO);
+        }
+    }
+
+    @Test
+    public void testMemoryGrowsLinearly() {
+        Assume.assumeTrue("Thread allocation accounting is not available",
+                ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (PythonCorpusGenerator.Mix mix : PythonCorpusGenerator.Mix.values()) {
+            String small = corpus(mix, SMALL_SIZE);
+            String large = corpus(mix, SMALL_SIZE * GROWTH);
+
+            long before = threads.getCurrentThreadAllocatedBytes();
+            List<Token> smallTokens = new PythonLexicalAnalyzer(small).tokenize();
+            long smallAllocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+            before = threads.getCurrentThreadAllocatedBytes();
+            List<Token> largeTokens = new PythonLexicalAnalyzer(large).tokenize();
+            long largeAllocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+            double ratio = (double) largeAllocated / smallAllocated;
+            assertTrue("Allocation ratio for " + mix + " should be close to linear, was " + ratio,
+                    ratio < MAX_RATIO);
+            assertTrue(largeTokens.size() > smallTokens.size());
+        }
+    }
+}
@@ -1,9 +1,14 @@
 import org.junit.Test;
 import org.junit.Before;
 import org.junit.After;
+import org.junit.Assume;
 import static org.junit.Assert.*;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -122,6 +127,35 @@ public class PythonLexicalAnalyzerTest {
         assertToken(tokens.get(2), "1.23e+10", TokenType.SCIENTIFIC);
     }
 
+    @Test
+    public void testNumericLiteralValues() {
+        String code = "0x_FF 0o17 0b1010 1_000_000 2.5E-3 3.14j 123456789012345678901234567890";
+        List<Token> tokens = new PythonLexicalAnalyzer(code).tokenize();
+        assertEquals(7, tokens.size());
+        assertEquals(255, ((NumberToken) tokens.get(0)).getLongValue());
+        assertEquals(15, ((NumberToken) tokens.get(1)).getLongValue());
+        assertEquals(10, ((NumberToken) tokens.get(2)).getLongValue());
+        assertEquals(1_000_000, ((NumberToken) tokens.get(3)).getLongValue());
+        assertEquals(0.0025, ((NumberToken) tokens.get(4)).getDoubleValue(), 0.0);
+        assertEquals(TokenType.IMAGINARY, tokens.get(5).getType());
+        assertEquals(3.14, ((NumberToken) tokens.get(5)).getDoubleValue(), 0.0);
+        NumberToken big = (NumberToken) tokens.get(6);
+        assertFalse(big.fitsInLong());
+        assertEquals(new BigInteger("123456789012345678901234567890"), big.getBigIntegerValue());
+    }
+
+    @Test
+    public void testInvalidNumericLiterals() {
+        for (String code : new String[]{"1__0", "1_", "0b102", "012"}) {
+            try {
+                new PythonLexicalAnalyzer(code).tokenize();
+                fail("Should throw exception for " + code);
+            } catch (RuntimeException e) {
+                assertTrue("Should contain error message", e.getMessage().contains("número inválido"));
+            }
+        }
+    }
+
     @Test
     public void testInvalidNumberWithLetter() {
         try {
@@ -255,6 +289,33 @@ public class PythonLexicalAnalyzerTest {
         assertToken(tokens.get(4), "/=", TokenType.ASSIGNMENT_OP);
     }
 
+    @Test
+    public void testExtendedOperators() {
+        String code = "**= //= >>= <<= -> := @ & | ^ ~ << >> %= @=";
+        List<Token> tokens = new PythonLexicalAnalyzer(code).tokenize();
+        String[] lexemes = code.split(" ");
+        TokenType[] types = {
+                TokenType.ASSIGNMENT_OP, TokenType.ASSIGNMENT_OP, TokenType.ASSIGNMENT_OP,
+                TokenType.ASSIGNMENT_OP, TokenType.ARROW, TokenType.ASSIGNMENT_OP,
+                TokenType.ARITHMETIC_OP, TokenType.BITWISE_OP, TokenType.BITWISE_OP,
+                TokenType.BITWISE_OP, TokenType.BITWISE_OP, TokenType.BITWISE_OP,
+                TokenType.BITWISE_OP, TokenType.ASSIGNMENT_OP, TokenType.ASSIGNMENT_OP
+        };
+        assertEquals(lexemes.length, tokens.size());
+        for (int i = 0; i < lexemes.length; i++) {
+            assertEquals(lexemes[i], tokens.get(i).getLexeme());
+            assertEquals("Type of '" + lexemes[i] + "'", types[i], tokens.get(i).getType());
+        }
+    }
+
+    @Test
+    public void testLongestOperatorMatch() {
+        List<Token> tokens = new PythonLexicalAnalyzer("a**-b").tokenize();
+        assertEquals(4, tokens.size());
+        assertEquals("**", tokens.get(1).getLexeme());
+        assertEquals("-", tokens.get(2).getLexeme());
+    }
+
     // Test Delimiters
     @Test
     public void testDelimiters() {
@@ -293,6 +354,54 @@ public class PythonLexicalAnalyzerTest {
         List<String> tokens = captureTokens(code);
     }
 
+    @Test
+    public void testBracketIndex() {
+        PythonLexicalAnalyzer analyzer = new PythonLexicalAnalyzer("[1, (2, 3)]");
+        analyzer.tokenize();
+        assertArrayEquals(new int[]{8, -1, -1, 7, -1, -1, -1, 3, 0}, analyzer.getBracketIndex().toArray());
+        assertTrue(analyzer.getDiagnostics().isEmpty());
+    }
+
+    @Test
+    public void testUnbalancedBrackets() {
+        PythonLexicalAnalyzer analyzer = new PythonLexicalAnalyzer("f(a[1)\nx = ]");
+        analyzer.tokenize();
+        assertEquals(5, analyzer.getBracketIndex().match(1));
+        assertEquals(-1, analyzer.getBracketIndex().match(3));
+
+        List<Diagnostic> diagnostics = analyzer.getDiagnostics();
+        assertEquals(2, diagnostics.size());
+        assertTrue(diagnostics.get(0).message().contains("'['"));
+        assertEquals(1, diagnostics.get(0).line());
+        assertEquals(4, diagnostics.get(0).column());
+        assertTrue(diagnostics.get(1).message().contains("']'"));
+        assertEquals(2, diagnostics.get(1).line());
+    }
+
+    @Test
+    public void testAnalyzeCodeReportsUnclosedBrackets() {
+        PythonLexicalAnalyzer analyzer = new PythonLexicalAnalyzer("f(a[1]");
+        analyzer.analyzeCode();
+
+        List<Diagnostic> diagnostics = analyzer.getDiagnostics();
+        assertEquals(1, diagnostics.size());
+        assertTrue(diagnostics.get(0).message().contains("'('"));
+        assertEquals(5, analyzer.getBracketIndex().match(3));
+    }
+
+    @Test
+    public void testBracketsIgnoreDroppedTokens() {
+        PythonLexicalAnalyzer analyzer = new PythonLexicalAnalyzer("(a)");
+        List<Token> tokens = analyzer.tokenize(LexBudget.UNLIMITED.withMaxTokens(2), CancellationToken.NONE);
+        assertEquals(2, tokens.size());
+        assertArrayEquals(new int[]{-1, -1}, analyzer.getBracketIndex().toArray());
+
+        List<Diagnostic> diagnostics = analyzer.getDiagnostics();
+        assertEquals(2, diagnostics.size());
+        assertTrue(diagnostics.get(0).message().contains("'(' sem fechamento"));
+        assertTrue(diagnostics.get(1).message().contains("limite de tokens"));
+    }
+
     // Test Comments
     @Test
     public void testComments() {
@@ -382,7 +491,7 @@ public class PythonLexicalAnalyzerTest {
     @Test
     public void testInvalidSymbol() {
         try {
-            String code = "x @ y";
+            String code = "x $ y";
             captureTokens(code);
             fail("Should throw exception for invalid symbol");
         } catch (RuntimeException e) {
@@ -436,4 +545,227 @@ public class PythonLexicalAnalyzerTest {
         assertToken(tokens.get(5), "10", TokenType.INTEGER);
     }
 
+    // Test Positions
+    @Test
+    public void testTokenPositions() {
+        PythonLexicalAnalyzer analyzer = new PythonLexicalAnalyzer("x = 5\n\ny = 10");
+        List<Token> tokens = analyzer.tokenize();
+        assertEquals(6, tokens.size());
+        assertEquals(1, analyzer.getLine(tokens.get(0)));
+        assertEquals(1, analyzer.getColumn(tokens.get(0)));
+        assertEquals(5, analyzer.getColumn(tokens.get(2)));
+        assertEquals(3, analyzer.getLine(tokens.get(5)));
+        assertEquals(5, analyzer.getColumn(tokens.get(5)));
+    }
+
+    @Test
+    public void testTokenizeLinesFromCheckpoint() throws Exception {
+        StringBuilder code = new StringBuilder();
+        for (int i = 1; i <= 30; i++) {
+            code.append("valor").append(i).append(" = \"\"\"texto\nmultilinha\"\"\"\n");
+        }
+        Path file = Files.createTempFile("checkpoint", ".py");
+        try {
+            Files.writeString(file, code.toString());
+            PythonLexicalAnalyzer analyzer = new PythonLexicalAnalyzer(file.toFile());
+            CheckpointIndex index = analyzer.enableCheckpoints(5, Long.MAX_VALUE);
+            analyzer.tokenize();
+            index.save(CheckpointIndex.sidecar(file));
+
+            CheckpointIndex loaded = CheckpointIndex.load(CheckpointIndex.sidecar(file));
+            assertTrue("Should record several checkpoints", loaded.getCheckpoints().size() > 1);
+
+            List<Token> window = PythonLexicalAnalyzer.tokenizeLines(file, loaded, 41, 41);
+            assertEquals(3, window.size());
+            assertEquals("valor21", window.get(0).getLexeme());
+            assertEquals(code.indexOf("valor21"), window.get(0).getOffset());
+        } finally {
+            Files.deleteIfExists(CheckpointIndex.sidecar(file));
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testResetReusesAnalyzer() {
+        PythonLexicalAnalyzer analyzer = new PythonLexicalAnalyzer("x = 1\ny = 2");
+        assertEquals(6, analyzer.tokenize().size());
+
+        analyzer.reset("'abc' + z");
+        List<Token> tokens = analyzer.tokenize();
+        assertEquals(3, tokens.size());
+        assertEquals("'abc'", tokens.get(0).getLexeme());
+        assertEquals(8, tokens.get(2).getOffset());
+        assertEquals(1, analyzer.getLine(tokens.get(2)));
+
+        assertEquals(tokens.size(), AnalyzerPool.tokenize("'abc' + z").size());
+    }
+
+    @Test
+    public void testAnalyzerPoolReleasesInput() {
+        PythonLexicalAnalyzer pooled = AnalyzerPool.acquire("x = (1)");
+        AnalyzerPool.release();
+        assertTrue(pooled.tokenize().isEmpty());
+
+        assertEquals(5, AnalyzerPool.tokenize("y = (2)").size());
+        assertEquals(0, pooled.getBracketIndex().toArray().length);
+        assertTrue("The pooled analyzer should not keep the last input", pooled.tokenize().isEmpty());
+    }
+
+    @Test
+    public void testErrorPosition() {
+        try {
+            new PythonLexicalAnalyzer("x = 1\ny = 2 $").tokenize();
+            fail("Should throw exception for invalid symbol");
+        } catch (RuntimeException e) {
+            assertTrue("Should contain error position", e.getMessage().contains("linha 2, coluna 7"));
+        }
+    }
+
+    @Test
+    public void testTokenStore() throws Exception {
+        String code = "x = 0x1F + 2.5\ny = x * 3j";
+        List<Token> expected = new PythonLexicalAnalyzer(code).tokenize();
+
+        Path file = Files.createTempFile("tokens", ".bin");
+        try (TokenStore offHeap = TokenStore.offHeap(); TokenStore mapped = TokenStore.mapped(file)) {
+            new PythonLexicalAnalyzer(code).tokenize(offHeap::add);
+            new PythonLexicalAnalyzer(code).tokenize(mapped::add);
+
+            for (TokenStore store : List.of(offHeap, mapped)) {
+                assertEquals(expected.size(), store.size());
+                int i = 0;
+                for (Token token : store) {
+                    assertEquals(expected.get(i).getType(), token.getType());
+                    assertEquals(expected.get(i).getLexeme(), token.getLexeme());
+                    assertEquals(expected.get(i).getOffset(), token.getOffset());
+                    i++;
+                }
+                assertEquals(31L, ((NumberToken) store.get(2)).getLongValue());
+                assertEquals("x", store.getLexeme(store.getLexemeId(0)));
+                assertEquals(store.getLexemeId(0), store.getLexemeId(7));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testTokenStoreLexemesOffHeap() throws Exception {
+        StringBuilder code = new StringBuilder("ação = \"" + "é".repeat(1_500_000) + "\"\n");
+        for (int i = 0; i < 10_000; i++) {
+            code.append("nome_").append(i).append(" = x\n");
+        }
+        List<Token> expected = new PythonLexicalAnalyzer(code.toString()).tokenize();
+
+        try (TokenStore store = TokenStore.offHeap()) {
+            new PythonLexicalAnalyzer(code.toString()).tokenize(store::add);
+            assertEquals(expected.size(), store.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getLexeme(), store.getLexeme(store.getLexemeId(i)));
+                assertEquals(expected.get(i).getLexeme().length(), store.getLength(i));
+            }
+            // "x" é usado o tempo todo e continua no cache de internação
+            assertEquals(store.getLexemeId(5), store.getLexemeId(store.size() - 1));
+        }
+    }
+
+    @Test
+    public void testVectorBulkScannerMatchesScalar() {
+        Assume.assumeTrue("jdk.incubator.vector is not available",
+                ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+        BulkScanner scalar = new BulkScanner();
+        BulkScanner vector = new VectorBulkScanner();
+
+        String code = "    \t\n  nome_1 = valor   # comentário longo até o fim da linha\r\n"
+                + "identificador_bem_comprido_com_123_digitos + ação_çé\n"
+                + "                                      x\n"
+                + "# " + "comentário muito longo ".repeat(20) + "\r\n";
+        for (int from = 0; from < code.length(); from++) {
+            assertEquals(scalar.skipWhitespace(code, from, code.length()), vector.skipWhitespace(code, from, code.length()));
+            assertEquals(scalar.skipToLineEnd(code, from, code.length()), vector.skipToLineEnd(code, from, code.length()));
+            assertEquals(scalar.skipIdentifier(code, from, code.length()), vector.skipIdentifier(code, from, code.length()));
+        }
+    }
+
+    @Test
+    public void testBudgetTruncatesUnterminatedString() {
+        String code = "x = 1\ny = \"\"\"" + "a".repeat(1_000_000);
+        PythonLexicalAnalyzer analyzer = new PythonLexicalAnalyzer(code);
+        List<Token> tokens = analyzer.tokenize(LexBudget.UNLIMITED.withMaxChars(4096), CancellationToken.NONE);
+
+        assertEquals("Should keep the tokens before the cut string", 5, tokens.size());
+        assertTrue(analyzer.isTruncated());
+        Diagnostic truncation = analyzer.getDiagnostics().get(analyzer.getDiagnostics().size() - 1);
+        assertEquals(2, truncation.line());
+        assertEquals(5, truncation.column());
+        assertTrue(truncation.message().contains("limite de caracteres"));
+    }
+
+    @Test
+    public void testBudgetLimits() {
+        String code = "x = 1\ny = x + 2\nz = y * 3";
+        List<Token> full = new PythonLexicalAnalyzer(code).tokenize();
+
+        PythonLexicalAnalyzer analyzer = new PythonLexicalAnalyzer(code);
+        List<Token> tokens = analyzer.tokenize(LexBudget.UNLIMITED.withMaxTokens(4), CancellationToken.NONE);
+        assertEquals(full.subList(0, 4).toString(), tokens.toString());
+        assertTrue(analyzer.getDiagnostics().get(0).message().contains("limite de tokens"));
+
+        // Tokens que encostam no limite de caracteres são descartados, os anteriores são mantidos
+        for (int maxChars = 0; maxChars < code.length(); maxChars++) {
+            analyzer = new PythonLexicalAnalyzer(code);
+            tokens = analyzer.tokenize(LexBudget.UNLIMITED.withMaxChars(maxChars), CancellationToken.NONE);
+            assertTrue(analyzer.isTruncated());
+            assertEquals(full.subList(0, tokens.size()).toString(), tokens.toString());
+        }
+
+        analyzer = new PythonLexicalAnalyzer(code);
+        tokens = analyzer.tokenize(LexBudget.UNLIMITED.withMaxChars(code.length()), CancellationToken.NONE);
+        assertFalse(analyzer.isTruncated());
+        assertEquals(full.size(), tokens.size());
+
+        CancellationToken cancellation = new CancellationToken();
+        cancellation.cancel();
+        analyzer = new PythonLexicalAnalyzer(code);
+        assertTrue(analyzer.tokenize(LexBudget.UNLIMITED, cancellation).isEmpty());
+        assertTrue(analyzer.getDiagnostics().get(0).message().contains("cancelada"));
+
+        analyzer = new PythonLexicalAnalyzer(code);
+        analyzer.tokenize(LexBudget.UNLIMITED.withTimeout(Duration.ZERO), CancellationToken.NONE);
+        assertTrue(analyzer.isTruncated());
+    }
+
+    @Test
+    public void testTimeoutStopsInsideLongTokens() {
+        String run = "1".repeat(20_000_000);
+        String[] codes = {"x = 1\n#" + run, "x = 1\ny = " + run, "x = 1\nz" + run.replace('1', 'a'),
+                "x = 1\n" + run.replace('1', ' ') + "y"};
+
+        for (String code : codes) {
+            PythonLexicalAnalyzer analyzer = new PythonLexicalAnalyzer(code);
+            List<Token> tokens = analyzer.tokenize(LexBudget.UNLIMITED.withTimeout(Duration.ofMillis(1)),
+                    CancellationToken.NONE);
+
+            assertTrue(analyzer.isTruncated());
+            assertTrue(analyzer.getDiagnostics().get(0).message().contains("tempo limite"));
+            for (Token token : tokens) {
+                assertTrue("Should stop before the long token ends", token.getLexeme().length() < 100);
+            }
+        }
+    }
+
+    @Test
+    public void testResetClearsBudget() {
+        CancellationToken cancellation = new CancellationToken();
+        cancellation.cancel();
+        PythonLexicalAnalyzer analyzer = new PythonLexicalAnalyzer("x = 1");
+        analyzer.tokenize(LexBudget.UNLIMITED, cancellation);
+        assertTrue(analyzer.isTruncated());
+
+        analyzer.reset("s = \"\"\"" + "a".repeat(70_000) + "\"\"\"");
+        analyzer.analyzeCode();
+        assertFalse(analyzer.isTruncated());
+        assertEquals(3, outputStream.toString().lines().count());
+    }
+
 }
@@ -0,0 +1,123 @@
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for SourceWatcher
+ */
+public class SourceWatcherTest {
+
+    private static final long TIMEOUT_SECONDS = 20;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Helper method waiting for the next result of the given file
+     */
+    private static SourceWatcher.FileResult next(BlockingQueue<SourceWatcher.FileResult> results, Path path)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (System.nanoTime() < deadline) {
+            SourceWatcher.FileResult result = results.poll(100, TimeUnit.MILLISECONDS);
+            if (result != null && result.path().equals(path)) {
+                return result;
+            }
+        }
+        fail("No result for " + path + " within " + TIMEOUT_SECONDS + "s");
+        return null;
+    }
+
+    @Test
+    public void testReanalyzesModifiedFiles() throws Exception {
+        Path root = folder.getRoot().toPath().toAbsolutePath();
+        Path file = root.resolve("a.py");
+        Files.writeString(file, "x = 1");
+        Files.writeString(root.resolve("notas.txt"), "ignorado");
+
+        BlockingQueue<SourceWatcher.FileResult> results = new LinkedBlockingQueue<>();
+        try (SourceWatcher watcher = new SourceWatcher(root, 50)) {
+            watcher.setListener(results::add);
+            watcher.start();
+
+            assertEquals(3, next(results, file).tokens().size());
+            assertEquals(1, watcher.getResults().size());
+            assertEquals(0, watcher.getMetrics().updates());
+
+            Files.writeString(file, "x = 1\ny = x + 2");
+            SourceWatcher.FileResult updated = next(results, file);
+            assertNull(updated.error());
+            assertEquals(8, updated.tokens().size());
+            assertSame(updated, watcher.getResult(file));
+            assertEquals(1, watcher.getMetrics().updates());
+            assertTrue(watcher.getMetrics().lastLatencyMillis() > 0);
+
+            Files.writeString(file, "x $ y");
+            SourceWatcher.FileResult broken = next(results, file);
+            assertTrue(broken.error().contains("símbolo inválido"));
+            assertTrue(broken.tokens().isEmpty());
+            assertEquals(2, watcher.getMetrics().updates());
+        }
+    }
+
+    @Test
+    public void testListenerFailureDoesNotStopWatching() throws Exception {
+        Path root = folder.getRoot().toPath().toAbsolutePath();
+        Path file = root.resolve("a.py");
+        Files.writeString(file, "x = 1");
+
+        BlockingQueue<SourceWatcher.FileResult> results = new LinkedBlockingQueue<>();
+        AtomicInteger calls = new AtomicInteger();
+        try (SourceWatcher watcher = new SourceWatcher(root, 50)) {
+            watcher.setListener(result -> {
+                results.add(result);
+                // The first update, analyzed on the watch thread, breaks the listener
+                if (calls.incrementAndGet() == 2) {
+                    throw new IllegalStateException("listener quebrado");
+                }
+            });
+            watcher.start();
+            next(results, file);
+
+            Files.writeString(file, "x = 2");
+            next(results, file);
+            Files.writeString(file, "x = 1\ny = x + 2");
+            assertEquals(8, next(results, file).tokens().size());
+            assertEquals(8, watcher.getResult(file).tokens().size());
+            assertEquals(1, watcher.getMetrics().listenerFailures());
+            assertEquals("listener quebrado", watcher.getLastListenerFailure().getMessage());
+        }
+    }
+
+    @Test
+    public void testContinuousWritesAreAnalyzedAfterMaxDelay() throws Exception {
+        Path root = folder.getRoot().toPath().toAbsolutePath();
+        Path file = root.resolve("log.py");
+        Files.writeString(file, "x = 0");
+
+        BlockingQueue<SourceWatcher.FileResult> results = new LinkedBlockingQueue<>();
+        try (SourceWatcher watcher = new SourceWatcher(root, path -> path.toString().endsWith(".py"), 200, 400)) {
+            watcher.setListener(results::add);
+            watcher.start();
+            next(results, file);
+
+            // Writes every 20ms never leave the tree quiet for the 200ms debounce interval
+            long writeUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+            SourceWatcher.FileResult result = null;
+            for (int i = 1; result == null && System.nanoTime() < writeUntil; i++) {
+                Files.writeString(file, "x = " + i);
+                Thread.sleep(20);
+                result = results.poll();
+            }
+            assertNotNull("Should analyze a continuously written file once the maximum delay expires", result);
+            assertTrue(watcher.getMetrics().updates() >= 1);
+        }
+    }
+}